@@ -3,6 +3,8 @@ package ro.ase.acs.mind_path.config;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import ro.ase.acs.mind_path.entity.User;
@@ -15,11 +17,13 @@ public class DataInitializer {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
 
     @Bean
     public CommandLineRunner insertData() {
         return args -> {
             insertAdmin();
+            alignUserResponseSequence();
         };
     }
 
@@ -41,4 +45,20 @@ public class DataInitializer {
             userRepository.save(admin);
         }
     }
+
+    // user_responses ids used to come from an identity column; move the sequence past them
+    private void alignUserResponseSequence() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+
+        jdbcTemplate.execute("""
+                SELECT setval('user_responses_seq', GREATEST(
+                        (SELECT COALESCE(MAX(response_id), 0) FROM user_responses),
+                        (SELECT last_value FROM user_responses_seq),
+                        1))
+                """);
+    }
 }
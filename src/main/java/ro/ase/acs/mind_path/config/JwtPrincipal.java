@@ -0,0 +1,14 @@
+package ro.ase.acs.mind_path.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import ro.ase.acs.mind_path.entity.enums.UserRole;
+
+import java.util.List;
+
+public record JwtPrincipal(Long userId, String email, UserRole role) {
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+}
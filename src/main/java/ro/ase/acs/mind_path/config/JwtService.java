@@ -1,20 +1,23 @@
 package ro.ase.acs.mind_path.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import ro.ase.acs.mind_path.entity.User;
+import ro.ase.acs.mind_path.entity.enums.UserRole;
 
 import javax.crypto.SecretKey;
 import java.time.ZonedDateTime;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -26,6 +29,27 @@ public class JwtService {
     @Value("${jwt.ttlInMinutes}")
     private Integer ttlInMinutes;
 
+    @Value("${jwt.cache.ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    private SecretKey secretKey;
+    private JwtParser parser;
+
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    private record VerifiedToken(JwtPrincipal principal, long expiresAtMillis) {}
+
+    @PostConstruct
+    void init() {
+        secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -58,42 +82,41 @@ public class JwtService {
                 .claim("user id", user.getUserId())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(expirationDateTime)
-                .signWith(getSecretKey())
+                .signWith(secretKey)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date(System.currentTimeMillis()));
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public JwtPrincipal authenticate(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null && cached.expiresAtMillis() > now) {
+            return cached.principal();
+        }
+
+        Claims claims = extractAllClaims(token);
+        JwtPrincipal principal = new JwtPrincipal(claims.get("user id", Long.class), claims.getSubject(),
+                extractRole(claims));
+        long expiresAt = Math.min(claims.getExpiration().getTime(), now + cacheTtlSeconds * 1000);
+
+        if (verifiedTokens.size() >= cacheMaxSize) {
+            verifiedTokens.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+            if (verifiedTokens.size() >= cacheMaxSize) {
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(token, new VerifiedToken(principal, expiresAt));
+        return principal;
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private SecretKey getSecretKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    public Long extractUserId(String token) {
-        return Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("user id", Long.class);
+    private static UserRole extractRole(Claims claims) {
+        Collection<?> roles = claims.get("roles", Collection.class);
+        if (roles == null || roles.isEmpty()) {
+            throw new MalformedJwtException("JWT has no roles");
+        }
+        return UserRole.valueOf(roles.iterator().next().toString().substring("ROLE_".length()));
     }
 }
@@ -3,6 +3,7 @@ package ro.ase.acs.mind_path.config;
 import com.openai.client.OpenAIClient;
 import com.openai.client.okhttp.OpenAIOkHttpClient;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,6 +17,7 @@ public class OpenAiConfig {
     private Duration timeout = Duration.ofSeconds(15);
 
     @Bean
+    @ConditionalOnProperty(name = "grading.llm.client", havingValue = "openai", matchIfMissing = true)
     public OpenAIClient openAi() {
         if (apiKey == null || apiKey.trim().isEmpty()) {
             throw new IllegalStateException("OpenAI API key is missing.");
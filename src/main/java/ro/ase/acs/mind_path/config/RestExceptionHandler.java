@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+import ro.ase.acs.mind_path.exception.ServiceUnavailableException;
 import ro.ase.acs.mind_path.exception.StoreException;
 
 import java.util.HashMap;
@@ -23,11 +24,15 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
     public ResponseEntity<Object> handleException(StoreException ex, WebRequest request) {
         var storeException = (StoreException) ex;
         var responseBody = new ErrorResponse(storeException.getMessage());
+        var headers = new HttpHeaders();
+        if (ex instanceof ServiceUnavailableException unavailable) {
+            headers.set(HttpHeaders.RETRY_AFTER, Long.toString(unavailable.getRetryAfterSeconds()));
+        }
 
         return handleExceptionInternal(
                 ex,
                 responseBody,
-                new HttpHeaders(),
+                headers,
                 storeException.getHttpStatus(),
                 request
         );
@@ -7,9 +7,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import ro.ase.acs.mind_path.config.JwtPrincipal;
 import ro.ase.acs.mind_path.dto.request.AnswerCreationDto;
 import ro.ase.acs.mind_path.dto.response.AnswerSummaryDto;
-import ro.ase.acs.mind_path.entity.User;
 import ro.ase.acs.mind_path.service.AnswerService;
 
 import java.util.List;
@@ -25,8 +25,8 @@ public class AnswerController {
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<Void> addAnswerToQuestion(@PathVariable Long questionId,
                                                     @RequestBody @Valid AnswerCreationDto dto,
-                                                    @AuthenticationPrincipal User user) {
-        answerService.addAnswerToQuestion(questionId, dto, user);
+                                                    @AuthenticationPrincipal JwtPrincipal user) {
+        answerService.addAnswerToQuestion(questionId, dto, user.userId());
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
@@ -40,16 +40,16 @@ public class AnswerController {
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<Void> updateAnswer(@PathVariable Long id,
                                              @RequestBody @Valid AnswerCreationDto dto,
-                                             @AuthenticationPrincipal User user) {
-        answerService.updateAnswer(id, dto, user);
+                                             @AuthenticationPrincipal JwtPrincipal user) {
+        answerService.updateAnswer(id, dto, user.userId());
         return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/answers/{id}")
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<Void> deleteAnswer(@PathVariable Long id,
-                                             @AuthenticationPrincipal User user) {
-        answerService.deleteAnswer(id, user);
+                                             @AuthenticationPrincipal JwtPrincipal user) {
+        answerService.deleteAnswer(id, user.userId());
         return ResponseEntity.noContent().build();
     }
 }
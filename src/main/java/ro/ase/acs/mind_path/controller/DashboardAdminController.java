@@ -0,0 +1,33 @@
+package ro.ase.acs.mind_path.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ro.ase.acs.mind_path.service.DashboardAggregateService;
+import ro.ase.acs.mind_path.service.WeaknessRollupService;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/dashboard")
+public class DashboardAdminController {
+
+    private final DashboardAggregateService dashboardAggregateService;
+    private final WeaknessRollupService weaknessRollupService;
+
+    @PostMapping("/aggregates/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuildAggregates() {
+        dashboardAggregateService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/weakness-rollups/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuildWeaknessRollups() {
+        weaknessRollupService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
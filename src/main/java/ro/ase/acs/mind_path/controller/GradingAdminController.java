@@ -0,0 +1,47 @@
+package ro.ase.acs.mind_path.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import ro.ase.acs.mind_path.dto.response.DeadGradingTaskDto;
+import ro.ase.acs.mind_path.dto.response.GradeCacheStatsDto;
+import ro.ase.acs.mind_path.dto.response.GradingQueueStatsDto;
+import ro.ase.acs.mind_path.service.GradeResultCache;
+import ro.ase.acs.mind_path.service.GradingQueueService;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/grading")
+public class GradingAdminController {
+
+    private final GradingQueueService gradingQueueService;
+    private final GradeResultCache gradeResultCache;
+
+    @GetMapping("/queue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<GradingQueueStatsDto> getQueueStats() {
+        return ResponseEntity.ok(gradingQueueService.getStats());
+    }
+
+    @GetMapping("/queue/dead")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<DeadGradingTaskDto>> getDeadTasks() {
+        return ResponseEntity.ok(gradingQueueService.getDeadTasks());
+    }
+
+    @PostMapping("/queue/dead/{taskId}/retry")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> retryDeadTask(@PathVariable Long taskId) {
+        gradingQueueService.retryDead(taskId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<GradeCacheStatsDto> getCacheStats() {
+        return ResponseEntity.ok(gradeResultCache.getStats());
+    }
+}
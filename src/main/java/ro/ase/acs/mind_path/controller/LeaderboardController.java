@@ -0,0 +1,70 @@
+package ro.ase.acs.mind_path.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ro.ase.acs.mind_path.config.JwtPrincipal;
+import ro.ase.acs.mind_path.dto.response.LeaderboardDto;
+import ro.ase.acs.mind_path.service.LeaderboardService;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/teacher/leaderboards")
+public class LeaderboardController {
+    private final LeaderboardService leaderboardService;
+
+    @GetMapping("/quizzes/{quizId}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<LeaderboardDto> getQuizLeaderboard(@PathVariable Long quizId,
+                                                             @RequestParam(required = false) Integer top,
+                                                             Authentication authentication,
+                                                             WebRequest request) {
+        JwtPrincipal teacher = (JwtPrincipal) authentication.getPrincipal();
+        return withETag(leaderboardService.getQuizLeaderboard(quizId, teacher.userId(), top), top, request);
+    }
+
+    @GetMapping("/sessions/{sessionId}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<LeaderboardDto> getSessionLeaderboard(@PathVariable Long sessionId,
+                                                                @RequestParam(required = false) Integer top,
+                                                                Authentication authentication,
+                                                                WebRequest request) {
+        JwtPrincipal teacher = (JwtPrincipal) authentication.getPrincipal();
+        return withETag(leaderboardService.getSessionLeaderboard(sessionId, teacher.userId(), top), top, request);
+    }
+
+    @GetMapping("/quizzes/{quizId}/students/{studentId}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<LeaderboardDto.Standing> getQuizStanding(@PathVariable Long quizId,
+                                                                   @PathVariable Long studentId,
+                                                                   Authentication authentication) {
+        JwtPrincipal teacher = (JwtPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(leaderboardService.getQuizStanding(quizId, studentId, teacher.userId()));
+    }
+
+    @GetMapping("/sessions/{sessionId}/students/{studentId}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<LeaderboardDto.Standing> getSessionStanding(@PathVariable Long sessionId,
+                                                                      @PathVariable Long studentId,
+                                                                      Authentication authentication) {
+        JwtPrincipal teacher = (JwtPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(leaderboardService.getSessionStanding(sessionId, studentId, teacher.userId()));
+    }
+
+    private static ResponseEntity<LeaderboardDto> withETag(LeaderboardDto leaderboard, Integer top,
+                                                           WebRequest request) {
+        String etag = "\"" + leaderboard.version() + "-" + (top == null ? "" : top) + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(leaderboard);
+    }
+}
@@ -7,10 +7,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import ro.ase.acs.mind_path.config.JwtPrincipal;
 import ro.ase.acs.mind_path.dto.request.QuestionCreationDto;
 import ro.ase.acs.mind_path.dto.request.QuestionUpdateDto;
 import ro.ase.acs.mind_path.dto.response.QuestionSummaryDto;
-import ro.ase.acs.mind_path.entity.User;
 import ro.ase.acs.mind_path.service.QuestionService;
 
 import java.util.List;
@@ -26,8 +26,8 @@ public class QuestionController {
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<Long> addQuestionToQuiz(@PathVariable Long quizId,
                                                   @RequestBody @Valid QuestionCreationDto dto,
-                                                  @AuthenticationPrincipal User user) {
-        Long questionId = questionService.addQuestionToQuiz(quizId, dto, user);
+                                                  @AuthenticationPrincipal JwtPrincipal user) {
+        Long questionId = questionService.addQuestionToQuiz(quizId, dto, user.userId());
         return ResponseEntity.ok(questionId);
     }
 
@@ -41,16 +41,16 @@ public class QuestionController {
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<Void> updateQuestion(@PathVariable Long id,
                                                 @RequestBody @Valid QuestionUpdateDto dto,
-                                                @AuthenticationPrincipal User user) {
-        questionService.updateQuestion(id, dto, user);
+                                                @AuthenticationPrincipal JwtPrincipal user) {
+        questionService.updateQuestion(id, dto, user.userId());
         return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/questions/{id}")
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<Void> deleteQuestion(@PathVariable Long id,
-                                               @AuthenticationPrincipal User user) {
-        questionService.deleteQuestion(id, user);
+                                               @AuthenticationPrincipal JwtPrincipal user) {
+        questionService.deleteQuestion(id, user.userId());
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,5 +1,6 @@
 package ro.ase.acs.mind_path.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -7,13 +8,16 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ro.ase.acs.mind_path.config.JwtPrincipal;
 import ro.ase.acs.mind_path.dto.request.StartAttemptRequest;
 import ro.ase.acs.mind_path.dto.request.SubmitAnswerRequest;
 import ro.ase.acs.mind_path.dto.request.SubmitAttemptRequest;
 import ro.ase.acs.mind_path.dto.response.AttemptResponseDto;
 import ro.ase.acs.mind_path.dto.response.AttemptResultDto;
+import ro.ase.acs.mind_path.dto.response.CursorPageDto;
 import ro.ase.acs.mind_path.dto.response.SubmitAnswerResponse;
-import ro.ase.acs.mind_path.entity.User;
+import ro.ase.acs.mind_path.service.AttemptHistoryService;
 import ro.ase.acs.mind_path.service.QuizAttemptService;
 
 import java.util.List;
@@ -23,14 +27,16 @@ import java.util.List;
 @RequestMapping
 public class QuizAttemptController {
     private final QuizAttemptService quizAttemptService;
+    private final AttemptHistoryService attemptHistoryService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/quizzes/attempts")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<AttemptResponseDto> startAttempt(
             @RequestBody StartAttemptRequest request,
             Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        AttemptResponseDto response = quizAttemptService.startAttempt(user.getUserId(), request);
+        JwtPrincipal user = (JwtPrincipal) authentication.getPrincipal();
+        AttemptResponseDto response = quizAttemptService.startAttempt(user.userId(), request);
         return ResponseEntity.ok(response);
     }
 
@@ -39,8 +45,8 @@ public class QuizAttemptController {
     public ResponseEntity<AttemptResponseDto> getAttempt(
             @PathVariable Long attemptId,
             Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        AttemptResponseDto response = quizAttemptService.getAttempt(attemptId, user.getUserId());
+        JwtPrincipal user = (JwtPrincipal) authentication.getPrincipal();
+        AttemptResponseDto response = quizAttemptService.getAttempt(attemptId, user.userId());
         return ResponseEntity.ok(response);
     }
 
@@ -50,8 +56,19 @@ public class QuizAttemptController {
             @PathVariable Long attemptId,
             @RequestBody SubmitAnswerRequest request,
             Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        SubmitAnswerResponse res = quizAttemptService.submitAnswer(attemptId, user.getUserId(), request);
+        JwtPrincipal user = (JwtPrincipal) authentication.getPrincipal();
+        SubmitAnswerResponse res = quizAttemptService.submitAnswer(attemptId, user.userId(), request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(res);
+    }
+
+    @PostMapping("/attempts/{attemptId}/responses:batch")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<List<SubmitAnswerResponse>> submitAnswers(
+            @PathVariable Long attemptId,
+            @RequestBody List<SubmitAnswerRequest> requests,
+            Authentication authentication) {
+        JwtPrincipal user = (JwtPrincipal) authentication.getPrincipal();
+        List<SubmitAnswerResponse> res = quizAttemptService.submitAnswers(attemptId, user.userId(), requests);
         return ResponseEntity.status(HttpStatus.CREATED).body(res);
     }
 
@@ -61,8 +78,8 @@ public class QuizAttemptController {
             @PathVariable Long attemptId,
             @RequestBody @Valid SubmitAttemptRequest request,
             Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        AttemptResponseDto response = quizAttemptService.submitAttempt(attemptId, user.getUserId(), request);
+        JwtPrincipal user = (JwtPrincipal) authentication.getPrincipal();
+        AttemptResponseDto response = quizAttemptService.submitAttempt(attemptId, user.userId(), request);
         return ResponseEntity.ok(response);
     }
 
@@ -77,17 +94,28 @@ public class QuizAttemptController {
     @GetMapping("/attempts/in-progress")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<List<AttemptResponseDto>> getInProgressAttempts(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        List<AttemptResponseDto> attempts = quizAttemptService.getInProgressAttempts(user.getUserId());
+        JwtPrincipal user = (JwtPrincipal) authentication.getPrincipal();
+        List<AttemptResponseDto> attempts = quizAttemptService.getInProgressAttempts(user.userId());
         return ResponseEntity.ok(attempts);
     }
 
     @GetMapping("/attempts/completed")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<List<AttemptResultDto>> getCompletedAttempts(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        List<AttemptResultDto> attempts = quizAttemptService.getCompletedAttempts(user.getUserId());
-        return ResponseEntity.ok(attempts);
+    public ResponseEntity<List<AttemptResultDto>> getCompletedAttempts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        JwtPrincipal user = (JwtPrincipal) authentication.getPrincipal();
+        CursorPageDto<AttemptResultDto> page = attemptHistoryService.getCompletedAttempts(user.userId(), cursor, size);
+        return CursorPages.toResponse(page);
+    }
+
+    @GetMapping(value = "/attempts/completed/stream", produces = CursorPages.NDJSON)
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<StreamingResponseBody> streamCompletedAttempts(Authentication authentication) {
+        JwtPrincipal user = (JwtPrincipal) authentication.getPrincipal();
+        return CursorPages.<AttemptResultDto>toNdjson(objectMapper,
+                sink -> attemptHistoryService.streamCompletedAttempts(user.userId(), sink));
     }
 
     @PostMapping("/attempts/{attemptId}/save-progress")
@@ -95,8 +123,8 @@ public class QuizAttemptController {
     public ResponseEntity<Void> saveProgress(
             @PathVariable Long attemptId,
             Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        quizAttemptService.saveProgress(attemptId, user.getUserId());
+        JwtPrincipal user = (JwtPrincipal) authentication.getPrincipal();
+        quizAttemptService.saveProgress(attemptId, user.userId());
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 }
\ No newline at end of file
@@ -2,14 +2,18 @@ package ro.ase.acs.mind_path.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ro.ase.acs.mind_path.config.JwtPrincipal;
 import ro.ase.acs.mind_path.dto.request.QuizCreationDto;
 import ro.ase.acs.mind_path.dto.request.QuizUpdateDto;
 import ro.ase.acs.mind_path.dto.response.QuizSummaryDto;
-import ro.ase.acs.mind_path.entity.User;
+import ro.ase.acs.mind_path.service.QuizCatalogCache.Versioned;
 import ro.ase.acs.mind_path.service.QuizService;
 
 import java.net.URI;
@@ -25,43 +29,53 @@ public class QuizController {
     @PostMapping
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<Long> createQuiz(@RequestBody @Valid QuizCreationDto quiz,
-                                             @AuthenticationPrincipal User user) {
-        Long quizId = quizService.createQuiz(quiz, user);
+                                             @AuthenticationPrincipal JwtPrincipal user) {
+        Long quizId = quizService.createQuiz(quiz, user.userId());
         return ResponseEntity.ok(quizId);
     }
 
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<QuizSummaryDto>> getAllQuizzes() {
-        return ResponseEntity.ok(quizService.getAllQuizzes());
+    public ResponseEntity<List<QuizSummaryDto>> getAllQuizzes(WebRequest request) {
+        return withETag(quizService.getAllQuizzes(), request);
     }
 
     @GetMapping("/active")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<QuizSummaryDto>> getActiveQuizzes() {
-        return ResponseEntity.ok(quizService.getActiveQuizzes());
+    public ResponseEntity<List<QuizSummaryDto>> getActiveQuizzes(WebRequest request) {
+        return withETag(quizService.getActiveQuizzes(), request);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<QuizSummaryDto> getQuizById(@PathVariable Long id) {
-        return ResponseEntity.ok(quizService.getQuizById(id));
+    public ResponseEntity<QuizSummaryDto> getQuizById(@PathVariable Long id, WebRequest request) {
+        return withETag(quizService.getQuizById(id), request);
     }
 
     @PatchMapping("/{id}")
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<Void> updateQuiz(@PathVariable Long id,
                                            @RequestBody @Valid QuizUpdateDto dto,
-                                           @AuthenticationPrincipal User user) {
-        quizService.updateQuiz(id, dto, user);
+                                           @AuthenticationPrincipal JwtPrincipal user) {
+        quizService.updateQuiz(id, dto, user.userId());
         return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<Void> deleteQuiz(@PathVariable Long id,
-                                           @AuthenticationPrincipal User user) {
-        quizService.deleteQuiz(id, user);
+                                           @AuthenticationPrincipal JwtPrincipal user) {
+        quizService.deleteQuiz(id, user.userId());
         return ResponseEntity.noContent().build();
     }
+
+    private static <T> ResponseEntity<T> withETag(Versioned<T> versioned, WebRequest request) {
+        if (request.checkNotModified(versioned.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(versioned.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(versioned.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(versioned.body());
+    }
 }
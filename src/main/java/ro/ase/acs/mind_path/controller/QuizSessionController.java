@@ -5,10 +5,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import ro.ase.acs.mind_path.config.JwtPrincipal;
 import ro.ase.acs.mind_path.dto.request.CreateSessionRequest;
 import ro.ase.acs.mind_path.dto.response.QuizSessionResponseDto;
 import ro.ase.acs.mind_path.entity.QuizSession;
-import ro.ase.acs.mind_path.entity.User;
 import ro.ase.acs.mind_path.service.QuizSessionService;
 
 @RestController
@@ -22,8 +22,8 @@ public class QuizSessionController {
     public ResponseEntity<QuizSessionResponseDto> createSession(
             @RequestBody CreateSessionRequest request,
             Authentication authentication) {
-        User teacher = (User) authentication.getPrincipal();
-        QuizSession session = quizSessionService.createSession(teacher.getUserId(), request);
+        JwtPrincipal teacher = (JwtPrincipal) authentication.getPrincipal();
+        QuizSession session = quizSessionService.createSession(teacher.userId(), request);
 
         QuizSessionResponseDto responseDto = QuizSessionResponseDto.builder()
                 .sessionId(session.getSessionId())
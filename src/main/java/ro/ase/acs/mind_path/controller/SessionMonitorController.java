@@ -0,0 +1,35 @@
+package ro.ase.acs.mind_path.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ro.ase.acs.mind_path.config.JwtPrincipal;
+import ro.ase.acs.mind_path.entity.QuizSession;
+import ro.ase.acs.mind_path.entity.enums.SessionStatus;
+import ro.ase.acs.mind_path.exception.QuizAttemptException;
+import ro.ase.acs.mind_path.service.QuizSessionService;
+import ro.ase.acs.mind_path.service.SessionEventBus;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/teacher/quiz-sessions")
+public class SessionMonitorController {
+    private final QuizSessionService quizSessionService;
+    private final SessionEventBus sessionEventBus;
+
+    @GetMapping(value = "/{sessionId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('TEACHER')")
+    public SseEmitter streamEvents(@PathVariable Long sessionId, Authentication authentication) {
+        JwtPrincipal teacher = (JwtPrincipal) authentication.getPrincipal();
+        QuizSession session = quizSessionService.getTeacherSession(sessionId, teacher.userId());
+
+        if (session.getStatus() != SessionStatus.ACTIVE) {
+            throw new QuizAttemptException("Session has expired");
+        }
+
+        return sessionEventBus.subscribe(sessionId);
+    }
+}
@@ -1,17 +1,27 @@
 package ro.ase.acs.mind_path.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ro.ase.acs.mind_path.config.JwtPrincipal;
+import ro.ase.acs.mind_path.dto.request.StudentCreationDto;
 import ro.ase.acs.mind_path.dto.request.TeacherCreationDto;
 import ro.ase.acs.mind_path.dto.response.AttemptResultDto;
+import ro.ase.acs.mind_path.dto.response.CursorPageDto;
+import ro.ase.acs.mind_path.dto.response.ItemAnalysisDto;
+import ro.ase.acs.mind_path.dto.response.StudentImportResultDto;
 import ro.ase.acs.mind_path.dto.response.StudentProgressDto;
 import ro.ase.acs.mind_path.dto.response.TeacherDashboardStatsDto;
-import ro.ase.acs.mind_path.entity.User;
+import ro.ase.acs.mind_path.service.AttemptHistoryService;
+import ro.ase.acs.mind_path.service.ItemAnalysisService;
+import ro.ase.acs.mind_path.service.StudentImportService;
 import ro.ase.acs.mind_path.service.TeacherDashboardService;
 import ro.ase.acs.mind_path.service.TeacherGradingService;
 import ro.ase.acs.mind_path.service.UserService;
@@ -27,14 +37,30 @@ public class TeacherController {
     private final UserService userService;
     private final TeacherDashboardService teacherDashboardService;
     private final TeacherGradingService teacherGradingService;
+    private final AttemptHistoryService attemptHistoryService;
+    private final ItemAnalysisService itemAnalysisService;
+    private final StudentImportService studentImportService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/teacher/students/{studentId}/attempts")
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<List<AttemptResultDto>> studentAttempts(@PathVariable Long studentId,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer size,
                                                   Authentication auth) {
-        Long teacherId = ((User) auth.getPrincipal()).getUserId();
-        List<AttemptResultDto> res = teacherDashboardService.getStudentAttempts(teacherId, studentId);
-        return ResponseEntity.ok(res);
+        Long teacherId = ((JwtPrincipal) auth.getPrincipal()).userId();
+        CursorPageDto<AttemptResultDto> page =
+                attemptHistoryService.getStudentAttempts(teacherId, studentId, cursor, size);
+        return CursorPages.toResponse(page);
+    }
+
+    @GetMapping(value = "/teacher/students/{studentId}/attempts/stream", produces = CursorPages.NDJSON)
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<StreamingResponseBody> streamStudentAttempts(@PathVariable Long studentId,
+                                                                       Authentication auth) {
+        Long teacherId = ((JwtPrincipal) auth.getPrincipal()).userId();
+        return CursorPages.<AttemptResultDto>toNdjson(objectMapper,
+                sink -> attemptHistoryService.streamStudentAttempts(teacherId, studentId, sink));
     }
 
     @PostMapping("/teacher/attempts/{attemptId}/questions/{questionId}/grade")
@@ -46,6 +72,24 @@ public class TeacherController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    @PostMapping(value = "/teacher/students/import", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = CursorPages.NDJSON)
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<StreamingResponseBody> importStudents(@RequestBody List<StudentCreationDto> students) {
+        return streamImport(studentImportService.plan(students));
+    }
+
+    @PostMapping(value = "/teacher/students/import", consumes = "text/csv", produces = CursorPages.NDJSON)
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<StreamingResponseBody> importStudentsCsv(@RequestBody String csv) {
+        return streamImport(studentImportService.plan(studentImportService.parseCsv(csv)));
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamImport(StudentImportService.ImportPlan plan) {
+        return CursorPages.<StudentImportResultDto>toNdjson(objectMapper,
+                sink -> studentImportService.execute(plan, sink));
+    }
+
     @PostMapping("/teachers")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<String> create(@RequestBody @Valid TeacherCreationDto teacher) {
@@ -57,17 +101,28 @@ public class TeacherController {
 
     @GetMapping("/teacher/dashboard/students")
     @PreAuthorize("hasRole('TEACHER')")
-    public ResponseEntity<List<StudentProgressDto>> getStudentProgress(Authentication authentication) {
-        User teacher = (User) authentication.getPrincipal();
-        List<StudentProgressDto> studentProgress = teacherDashboardService.getStudentProgress(teacher.getUserId());
-        return ResponseEntity.ok(studentProgress);
+    public ResponseEntity<List<StudentProgressDto>> getStudentProgress(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        JwtPrincipal teacher = (JwtPrincipal) authentication.getPrincipal();
+        CursorPageDto<StudentProgressDto> studentProgress =
+                teacherDashboardService.getStudentProgress(teacher.userId(), cursor, size);
+        return CursorPages.toResponse(studentProgress);
+    }
+
+    @GetMapping("/teacher/quizzes/{quizId}/item-analysis")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<ItemAnalysisDto> getItemAnalysis(@PathVariable Long quizId, Authentication authentication) {
+        JwtPrincipal teacher = (JwtPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(itemAnalysisService.getItemAnalysis(quizId, teacher.userId()));
     }
 
     @GetMapping("/teacher/dashboard/stats")
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<TeacherDashboardStatsDto> getDashboardStats(Authentication authentication) {
-        User teacher = (User) authentication.getPrincipal();
-        TeacherDashboardStatsDto stats = teacherDashboardService.getDashboardStats(teacher.getUserId());
+        JwtPrincipal teacher = (JwtPrincipal) authentication.getPrincipal();
+        TeacherDashboardStatsDto stats = teacherDashboardService.getDashboardStats(teacher.userId());
         return ResponseEntity.ok(stats);
     }
 }
@@ -1,13 +1,12 @@
 package ro.ase.acs.mind_path.controller;
 
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import ro.ase.acs.mind_path.config.JwtPrincipal;
 import ro.ase.acs.mind_path.dto.request.PasswordChangeDto;
 import ro.ase.acs.mind_path.dto.request.StudentCreationDto;
 import ro.ase.acs.mind_path.dto.request.UserSessionDto;
@@ -41,14 +40,14 @@ public class UserController {
     @PatchMapping("/auth/change-password")
     @PreAuthorize("hasRole('STUDENT') or hasRole('TEACHER')")
     public ResponseEntity<String> changePassword(@RequestBody @Valid PasswordChangeDto passwordChangeDto,
-                                                 HttpServletRequest request) {
-        userService.changePassword((Long) request.getAttribute("user id"), passwordChangeDto);
+                                                 @AuthenticationPrincipal JwtPrincipal user) {
+        userService.changePassword(user.userId(), passwordChangeDto);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/users/me")
-    public ResponseEntity<UserProfileDto> getCurrentUser(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = userService.findByEmail(userDetails.getUsername());
+    public ResponseEntity<UserProfileDto> getCurrentUser(@AuthenticationPrincipal JwtPrincipal principal) {
+        User user = userService.findById(principal.userId());
         return ResponseEntity.ok(new UserProfileDto(user));
     }
 
@@ -6,8 +6,6 @@ import ro.ase.acs.mind_path.dto.response.*;
 import ro.ase.acs.mind_path.entity.Question;
 import ro.ase.acs.mind_path.entity.QuizAttempt;
 import ro.ase.acs.mind_path.entity.UserResponse;
-import ro.ase.acs.mind_path.repository.QuestionRepository;
-import ro.ase.acs.mind_path.repository.UserResponseRepository;
 
 import java.util.List;
 import java.util.Map;
@@ -20,15 +18,18 @@ public class AttemptMapper {
     private final QuestionMapper questionMapper;
     private final ResponseMapper responseMapper;
 
-    private final QuestionRepository questionRepository;
-    private final UserResponseRepository userResponseRepository;
-
     public AttemptResponseDto toDto(QuizAttempt attempt,
                                     List<Question> questions,
                                     List<UserResponse> responses) {
         List<QuestionDto> questionDtos = questions.stream()
                 .map(questionMapper::toDto)
                 .toList();
+        return toDtoWithContent(attempt, questionDtos, responses);
+    }
+
+    public AttemptResponseDto toDtoWithContent(QuizAttempt attempt,
+                                               List<QuestionDto> questionDtos,
+                                               List<UserResponse> responses) {
         List<ResponseDto> responseDtos = responses.stream()
                 .map(responseMapper::toDto)
                 .toList();
@@ -47,17 +48,22 @@ public class AttemptMapper {
                 .build();
     }
 
-    public AttemptResultDto toResultDto(QuizAttempt attempt) {
-        List<Question> questions = questionRepository.findByQuizQuizId(attempt.getQuiz().getQuizId());
-        List<UserResponse> responses = userResponseRepository.findByQuizAttemptAttemptId(attempt.getAttemptId());
-
+    public AttemptResultDto toResultDto(QuizAttempt attempt,
+                                        List<Question> questions,
+                                        List<UserResponse> responses) {
         Map<Long, List<UserResponse>> responseMap = responses.stream()
                 .collect(Collectors.groupingBy(r -> r.getQuestion().getQuestionId()));
 
         List<QuestionResultDto> questionResults = questions.stream()
-                .map(q -> questionMapper.toResultDto(q, responseMap))
+                .map(q -> questionMapper.toResultDto(q, q.getAnswers(), responseMap))
                 .collect(Collectors.toList());
 
+        return buildResultDto(attempt, questions, questionResults);
+    }
+
+    private AttemptResultDto buildResultDto(QuizAttempt attempt,
+                                            List<Question> questions,
+                                            List<QuestionResultDto> questionResults) {
         long correctAnswersCount = questionResults.stream()
                 .filter(QuestionResultDto::getIsCorrect)
                 .count();
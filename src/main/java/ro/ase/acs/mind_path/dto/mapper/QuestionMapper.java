@@ -10,12 +10,11 @@ import ro.ase.acs.mind_path.entity.Answer;
 import ro.ase.acs.mind_path.entity.Question;
 import ro.ase.acs.mind_path.entity.UserResponse;
 import ro.ase.acs.mind_path.entity.enums.QuestionType;
-import ro.ase.acs.mind_path.repository.AnswerRepository;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -24,8 +23,6 @@ public class QuestionMapper implements DtoMapper<Question, QuestionDto> {
 
     private final AnswerMapper answerMapper;
 
-    private final AnswerRepository answerRepository;
-
     @Override
     public QuestionDto toDto(Question q) {
         List<AnswerDto> answers =
@@ -45,8 +42,8 @@ public class QuestionMapper implements DtoMapper<Question, QuestionDto> {
     }
 
     public QuestionResultDto toResultDto(Question q,
+                                         List<Answer> answers,
                                          Map<Long, List<UserResponse>> responseMap) {
-        List<Answer> answers = answerRepository.findByQuestionQuestionId(q.getQuestionId());
         List<UserResponse> userResponses = responseMap.getOrDefault(q.getQuestionId(), List.of());
 
         if (q.getType() == QuestionType.OPEN_ENDED) {
@@ -72,33 +69,28 @@ public class QuestionMapper implements DtoMapper<Question, QuestionDto> {
                                     .build()))
                     .build();
         } else {
-            List<AnswerResultDto> answerResults = answers.stream()
-                    .map(answer -> {
-                        boolean isSelected = userResponses.stream()
-                                .anyMatch(r -> r.getSelectedAnswer().getAnswerId().equals(answer.getAnswerId()));
+            Set<Long> selectedAnswerIds = userResponses.stream()
+                    .filter(r -> r.getSelectedAnswer() != null)
+                    .map(r -> r.getSelectedAnswer().getAnswerId())
+                    .collect(Collectors.toSet());
 
-                        return AnswerResultDto.builder()
-                                .id(answer.getAnswerId())
-                                .text(answer.getAnswerText())
-                                .isSelected(isSelected)
-                                .isCorrect(answer.getIsCorrect())
-                                .build();
-                    })
+            List<AnswerResultDto> answerResults = answers.stream()
+                    .map(answer -> AnswerResultDto.builder()
+                            .id(answer.getAnswerId())
+                            .text(answer.getAnswerText())
+                            .isSelected(selectedAnswerIds.contains(answer.getAnswerId()))
+                            .isCorrect(answer.getIsCorrect())
+                            .build())
                     .collect(Collectors.toList());
 
             boolean isCorrect;
             if (q.getType() == QuestionType.MULTIPLE_CHOICE) {
-                List<Long> selectedAnswerIds = userResponses.stream()
-                        .map(r -> r.getSelectedAnswer().getAnswerId())
-                        .toList();
-
-                List<Long> correctAnswerIds = answers.stream()
+                Set<Long> correctAnswerIds = answers.stream()
                         .filter(Answer::getIsCorrect)
                         .map(Answer::getAnswerId)
-                        .toList();
+                        .collect(Collectors.toSet());
 
-                isCorrect = new HashSet<>(selectedAnswerIds).containsAll(correctAnswerIds) &&
-                        new HashSet<>(correctAnswerIds).containsAll(selectedAnswerIds);
+                isCorrect = selectedAnswerIds.equals(correctAnswerIds);
             } else {
                 isCorrect = !userResponses.isEmpty() && userResponses.getFirst().getIsCorrect();
             }
@@ -0,0 +1,18 @@
+package ro.ase.acs.mind_path.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GradeCacheStatsDto {
+    private Long memoryHits;
+    private Long databaseHits;
+    private Long misses;
+    private Double hitRate;
+    private Integer memoryEntries;
+}
@@ -0,0 +1,18 @@
+package ro.ase.acs.mind_path.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GradingQueueStatsDto {
+    private Long pending;
+    private Long inProgress;
+    private Long dead;
+    private Long completedLastMinute;
+    private Long completedLastHour;
+}
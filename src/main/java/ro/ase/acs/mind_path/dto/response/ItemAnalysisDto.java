@@ -0,0 +1,34 @@
+package ro.ase.acs.mind_path.dto.response;
+
+import ro.ase.acs.mind_path.entity.enums.QuestionDifficulty;
+import ro.ase.acs.mind_path.entity.enums.QuestionType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ItemAnalysisDto(
+        Long quizId,
+        int attemptCount,
+        LocalDateTime computedAt,
+        List<ItemStats> items
+) {
+    public record ItemStats(
+            Long questionId,
+            String questionText,
+            QuestionType type,
+            QuestionDifficulty difficulty,
+            int responses,
+            Double pValue,
+            Double pointBiserial,
+            Double meanResponseTimeSec,
+            List<AnswerStats> answers
+    ) {}
+
+    public record AnswerStats(
+            Long answerId,
+            String text,
+            boolean correct,
+            int selectedCount,
+            double selectionRate
+    ) {}
+}
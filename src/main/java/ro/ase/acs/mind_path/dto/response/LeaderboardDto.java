@@ -0,0 +1,20 @@
+package ro.ase.acs.mind_path.dto.response;
+
+import java.util.List;
+
+public record LeaderboardDto(
+        Long quizId,
+        Long sessionId,
+        long version,
+        int participants,
+        List<Standing> standings
+) {
+    public record Standing(
+            int rank,
+            Long studentId,
+            String firstName,
+            String lastName,
+            float score,
+            int timeSec
+    ) {}
+}
@@ -0,0 +1,51 @@
+package ro.ase.acs.mind_path.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.List;
+
+@JsonSerialize(using = QuizContent.Serializer.class)
+public final class QuizContent extends AbstractList<QuestionDto> {
+
+    private final List<QuestionDto> questions;
+    private final SerializableString json;
+
+    public QuizContent(List<QuestionDto> questions, String json) {
+        this.questions = List.copyOf(questions);
+        this.json = new SerializedString(json);
+        this.json.asUnquotedUTF8();
+    }
+
+    @Override
+    public QuestionDto get(int index) {
+        return questions.get(index);
+    }
+
+    @Override
+    public int size() {
+        return questions.size();
+    }
+
+    public int byteSize() {
+        return json.asUnquotedUTF8().length;
+    }
+
+    public static final class Serializer extends StdSerializer<QuizContent> {
+
+        public Serializer() {
+            super(QuizContent.class);
+        }
+
+        @Override
+        public void serialize(QuizContent value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeRawValue(value.json);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ro.ase.acs.mind_path.dto.response;
+
+import java.time.LocalDateTime;
+
+public record SessionEventDto(
+        Type type,
+        Long sessionId,
+        Long attemptId,
+        Long studentId,
+        Long questionId,
+        Boolean correct,
+        Float score,
+        LocalDateTime occurredAt
+) {
+    public enum Type {
+        ATTEMPT_STARTED,
+        ANSWER_SUBMITTED,
+        ATTEMPT_SUBMITTED,
+        GRADE_READY,
+        SESSION_EXPIRED
+    }
+
+    public static SessionEventDto of(Type type, Long sessionId, Long attemptId, Long studentId) {
+        return new SessionEventDto(type, sessionId, attemptId, studentId, null, null, null, LocalDateTime.now());
+    }
+}
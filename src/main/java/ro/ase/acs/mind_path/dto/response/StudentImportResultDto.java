@@ -0,0 +1,15 @@
+package ro.ase.acs.mind_path.dto.response;
+
+public record StudentImportResultDto(
+        int row,
+        String email,
+        Status status,
+        String message
+) {
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+}
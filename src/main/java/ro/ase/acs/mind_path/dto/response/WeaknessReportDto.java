@@ -1,11 +1,14 @@
 package ro.ase.acs.mind_path.dto.response;
 
+import java.util.List;
 import java.util.Map;
 
 public record WeaknessReportDto(
         int totalQuestions,
         int rushingErrors,
-        Map<String, QuestionTypeStats> statsByType
+        Map<String, QuestionTypeStats> statsByType,
+        Map<String, QuestionTypeStats> statsByDifficulty,
+        List<QuizWeaknessStats> statsByQuiz
 ) {
     public static final int FAST_SEC = 5;
 
@@ -14,4 +17,13 @@ public record WeaknessReportDto(
             int incorrect,
             double averageTimeSec
     ) {}
+
+    public record QuizWeaknessStats(
+            Long quizId,
+            String quizTitle,
+            int attempted,
+            int incorrect,
+            int rushingErrors,
+            double averageTimeSec
+    ) {}
 }
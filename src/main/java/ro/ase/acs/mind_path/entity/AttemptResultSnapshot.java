@@ -0,0 +1,30 @@
+package ro.ase.acs.mind_path.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "Attempt_result_snapshots")
+public class AttemptResultSnapshot {
+    @Id
+    @Column(name = "attempt_id")
+    private Long attemptId;
+    @Column(name = "format_version", nullable = false)
+    private Integer formatVersion;
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false)
+    private String payload;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,36 @@
+package ro.ase.acs.mind_path.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "Grade_cache", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_grade_cache_key", columnNames = {"question_id", "rubric_hash", "answer_hash"})
+})
+public class GradeCacheEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "entry_id")
+    private Long entryId;
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+    @Column(name = "rubric_hash", nullable = false, length = 64)
+    private String rubricHash;
+    @Column(name = "answer_hash", nullable = false, length = 64)
+    private String answerHash;
+    @Column(nullable = false)
+    private Float score;
+    @Column(columnDefinition = "TEXT")
+    private String feedback;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,44 @@
+package ro.ase.acs.mind_path.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.ase.acs.mind_path.entity.enums.GradingTaskStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "Grading_tasks", indexes = {
+        @Index(name = "idx_grading_tasks_status_available_at", columnList = "status, available_at")
+})
+public class GradingTask {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "task_id")
+    private Long taskId;
+    @Column(name = "attempt_id", nullable = false, unique = true)
+    private Long attemptId;
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private GradingTaskStatus status;
+    @Column(nullable = false)
+    private Integer attempts;
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+    @Column(name = "leased_until")
+    private LocalDateTime leasedUntil;
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -2,7 +2,6 @@ package ro.ase.acs.mind_path.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.UpdateTimestamp;
 import ro.ase.acs.mind_path.entity.enums.AttemptStatus;
 
 import java.time.LocalDateTime;
@@ -13,7 +12,10 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "Quiz_attempts")
+@Table(name = "Quiz_attempts", indexes = {
+        @Index(name = "idx_quiz_attempts_status_session", columnList = "status, session_id"),
+        @Index(name = "idx_quiz_attempts_user_completed", columnList = "user_id, completed_at, attempt_id")
+})
 public class QuizAttempt {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,7 +32,6 @@ public class QuizAttempt {
     @Column(name = "attempt_time")
     private Integer attemptTime;
     @Column(name = "completed_at")
-    @UpdateTimestamp
     private LocalDateTime completedAt;
     @OneToMany(mappedBy = "quizAttempt", cascade = CascadeType.ALL)
     @ToString.Exclude
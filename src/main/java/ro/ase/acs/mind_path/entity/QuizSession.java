@@ -15,7 +15,9 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "Quiz_sessions")
+@Table(name = "Quiz_sessions", indexes = {
+        @Index(name = "idx_quiz_sessions_status_end_time", columnList = "status, end_time")
+})
 public class QuizSession {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,33 @@
+package ro.ase.acs.mind_path.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "Quiz_stats", indexes = {
+        @Index(name = "idx_quiz_stats_teacher", columnList = "teacher_id")
+})
+public class QuizStats {
+    @Id
+    @Column(name = "quiz_id")
+    private Long quizId;
+    @Column(name = "teacher_id", nullable = false)
+    private Long teacherId;
+    @Column(name = "attempt_count", nullable = false)
+    private Integer attemptCount;
+    @Column(name = "completed_count", nullable = false)
+    private Integer completedCount;
+    @Column(name = "completed_score_sum", nullable = false)
+    private Double completedScoreSum;
+    @Column(name = "last_completed_at")
+    private LocalDateTime lastCompletedAt;
+}
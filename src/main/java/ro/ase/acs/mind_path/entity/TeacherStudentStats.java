@@ -0,0 +1,38 @@
+package ro.ase.acs.mind_path.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "Teacher_student_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_teacher_student_stats", columnNames = {"teacher_id", "student_id"})
+})
+public class TeacherStudentStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "stats_id")
+    private Long statsId;
+    @Column(name = "teacher_id", nullable = false)
+    private Long teacherId;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private User student;
+    @Column(name = "attempt_count", nullable = false)
+    private Integer attemptCount;
+    @Column(name = "finished_count", nullable = false)
+    private Integer finishedCount;
+    @Column(name = "completed_count", nullable = false)
+    private Integer completedCount;
+    @Column(name = "finished_score_sum", nullable = false)
+    private Double finishedScoreSum;
+    @Column(name = "last_completed_at")
+    private LocalDateTime lastCompletedAt;
+}
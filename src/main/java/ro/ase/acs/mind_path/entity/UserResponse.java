@@ -11,7 +11,8 @@ import lombok.*;
 @Table(name = "User_responses")
 public class UserResponse {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_responses_seq")
+    @SequenceGenerator(name = "user_responses_seq", sequenceName = "user_responses_seq", allocationSize = 50)
     @Column(name = "response_id")
     private Long responseId;
     @ManyToOne
@@ -0,0 +1,47 @@
+package ro.ase.acs.mind_path.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.ase.acs.mind_path.entity.enums.QuestionDifficulty;
+import ro.ase.acs.mind_path.entity.enums.QuestionType;
+
+import java.time.LocalDate;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "Weakness_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_weakness_rollups_bucket",
+                columnNames = {"student_id", "bucket_date", "quiz_id", "question_type", "difficulty"})
+})
+public class WeaknessRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long rollupId;
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "question_type", nullable = false)
+    private QuestionType questionType;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private QuestionDifficulty difficulty;
+    @Column(name = "response_count", nullable = false)
+    private Integer responseCount;
+    @Column(name = "incorrect_count", nullable = false)
+    private Integer incorrectCount;
+    @Column(name = "response_time_sum", nullable = false)
+    private Long responseTimeSum;
+    @Column(name = "rushing_errors", nullable = false)
+    private Integer rushingErrors;
+}
@@ -0,0 +1,5 @@
+package ro.ase.acs.mind_path.entity.enums;
+
+public enum GradingTaskStatus {
+    PENDING, IN_PROGRESS, DONE, DEAD
+}
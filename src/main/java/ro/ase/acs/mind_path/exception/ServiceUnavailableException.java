@@ -0,0 +1,15 @@
+package ro.ase.acs.mind_path.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class ServiceUnavailableException extends StoreException {
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        this.setHttpStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        this.setMessage(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,8 +1,11 @@
 package ro.ase.acs.mind_path.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ro.ase.acs.mind_path.entity.Answer;
+import ro.ase.acs.mind_path.entity.enums.QuestionType;
 
 import java.util.List;
 
@@ -10,4 +13,16 @@ import java.util.List;
 public interface AnswerRepository extends JpaRepository<Answer, Long> {
     List<Answer> findByQuestionQuestionId(Long questionId);
     List<Answer> findByQuestionQuestionIdAndIsCorrect(Long questionId, Boolean isCorrect);
+
+    @Query("select a.question.questionId as questionId, a.question.type as questionType, " +
+            "a.answerId as answerId, a.isCorrect as isCorrect " +
+            "from Answer a where a.question.quiz.quizId = :quizId")
+    List<AnswerKeyRow> findAnswerKeyRowsByQuizId(@Param("quizId") Long quizId);
+
+    interface AnswerKeyRow {
+        Long getQuestionId();
+        QuestionType getQuestionType();
+        Long getAnswerId();
+        Boolean getIsCorrect();
+    }
 }
@@ -0,0 +1,16 @@
+package ro.ase.acs.mind_path.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ro.ase.acs.mind_path.entity.AttemptResultSnapshot;
+
+@Repository
+public interface AttemptResultSnapshotRepository extends JpaRepository<AttemptResultSnapshot, Long> {
+
+    @Modifying
+    @Query("delete from AttemptResultSnapshot s where s.attemptId = :attemptId")
+    int deleteByAttemptId(@Param("attemptId") Long attemptId);
+}
@@ -0,0 +1,36 @@
+package ro.ase.acs.mind_path.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ro.ase.acs.mind_path.entity.GradeCacheEntry;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface GradeCacheEntryRepository extends JpaRepository<GradeCacheEntry, Long> {
+    Optional<GradeCacheEntry> findByQuestionIdAndRubricHashAndAnswerHash(Long questionId, String rubricHash, String answerHash);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into grade_cache (question_id, rubric_hash, answer_hash, score, feedback, created_at)
+            values (:questionId, :rubricHash, :answerHash, :score, :feedback, :createdAt)
+            on conflict (question_id, rubric_hash, answer_hash) do nothing
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("questionId") Long questionId,
+                       @Param("rubricHash") String rubricHash,
+                       @Param("answerHash") String answerHash,
+                       @Param("score") Float score,
+                       @Param("feedback") String feedback,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from GradeCacheEntry e where e.questionId = :questionId")
+    int deleteByQuestionId(@Param("questionId") Long questionId);
+}
@@ -0,0 +1,43 @@
+package ro.ase.acs.mind_path.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ro.ase.acs.mind_path.entity.GradingTask;
+import ro.ase.acs.mind_path.entity.enums.GradingTaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GradingTaskRepository extends JpaRepository<GradingTask, Long> {
+    boolean existsByAttemptId(Long attemptId);
+    long countByStatus(GradingTaskStatus status);
+    long countByStatusAndCompletedAtAfter(GradingTaskStatus status, LocalDateTime after);
+    List<GradingTask> findByStatusOrderByAvailableAtAsc(GradingTaskStatus status);
+
+    @Query(value = """
+            select * from grading_tasks
+            where (status = 'PENDING' and available_at <= :now)
+               or (status = 'IN_PROGRESS' and leased_until < :now)
+            order by available_at
+            limit :batchSize
+            for update skip locked
+            """, nativeQuery = true)
+    List<GradingTask> lockClaimable(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update GradingTask t set t.leasedUntil = :leasedUntil
+            where t.taskId in :taskIds and t.leaseOwner = :owner and t.status = :status
+            """)
+    int renewLeases(@Param("taskIds") Collection<Long> taskIds,
+                    @Param("owner") String owner,
+                    @Param("status") GradingTaskStatus status,
+                    @Param("leasedUntil") LocalDateTime leasedUntil);
+}
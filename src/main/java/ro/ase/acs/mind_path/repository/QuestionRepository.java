@@ -1,12 +1,19 @@
 package ro.ase.acs.mind_path.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ro.ase.acs.mind_path.entity.Question;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface QuestionRepository extends JpaRepository<Question, Long> {
     List<Question> findByQuizQuizId(Long quizId);
+
+    @Query("select distinct q from Question q left join fetch q.answers " +
+            "where q.quiz.quizId in :quizIds order by q.questionId")
+    List<Question> findWithAnswersByQuizIdIn(@Param("quizIds") Collection<Long> quizIds);
 }
@@ -1,19 +1,197 @@
 package ro.ase.acs.mind_path.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ro.ase.acs.mind_path.entity.QuizAttempt;
 import ro.ase.acs.mind_path.entity.enums.AttemptStatus;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long> {
     List<QuizAttempt> findByUserUserIdAndQuizQuizId(Long userId, Long quizId);
     Optional<QuizAttempt> findByAttemptIdAndUserUserId(Long attemptId, Long userId);
+    boolean existsByAttemptIdAndStatus(Long attemptId, AttemptStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("update QuizAttempt a set a.status = :status, a.completedAt = :completedAt " +
+            "where a.attemptId = :attemptId and a.status = ro.ase.acs.mind_path.entity.enums.AttemptStatus.IN_PROGRESS")
+    int finishInProgress(@Param("attemptId") Long attemptId,
+                         @Param("status") AttemptStatus status,
+                         @Param("completedAt") LocalDateTime completedAt);
+
+    @Transactional
+    @Modifying
+    @Query("update QuizAttempt a set a.status = :status, a.completedAt = :completedAt, " +
+            "a.attemptTime = :attemptTime, a.score = :score " +
+            "where a.attemptId = :attemptId and a.status = ro.ase.acs.mind_path.entity.enums.AttemptStatus.IN_PROGRESS")
+    int submitInProgress(@Param("attemptId") Long attemptId,
+                         @Param("status") AttemptStatus status,
+                         @Param("completedAt") LocalDateTime completedAt,
+                         @Param("attemptTime") Integer attemptTime,
+                         @Param("score") Float score);
+
+    @Transactional
+    @Modifying
+    @Query("update QuizAttempt a set a.lastAccessedAt = :lastAccessedAt " +
+            "where a.attemptId = :attemptId and a.status = ro.ase.acs.mind_path.entity.enums.AttemptStatus.IN_PROGRESS")
+    int touchInProgress(@Param("attemptId") Long attemptId, @Param("lastAccessedAt") LocalDateTime lastAccessedAt);
+
+    @Query("select a from QuizAttempt a join fetch a.quiz where a.attemptId = :attemptId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<QuizAttempt> findReadOnlyById(@Param("attemptId") Long attemptId);
     List<QuizAttempt> findByUserUserIdAndStatus(Long userId, AttemptStatus status);
-    List<QuizAttempt> findByStatus(AttemptStatus status);
-    List<QuizAttempt> findByQuizQuizIdIn(List<Long> quizIds);
-    List<QuizAttempt> findByUserUserIdAndQuizQuizIdInAndStatusIn(Long userId, List<Long> quizIds, List<AttemptStatus> statuses);
+
+    @Query("select a from QuizAttempt a join fetch a.quiz join fetch a.user left join fetch a.quizSession " +
+            "where a.user.userId = :userId and a.status in :statuses " +
+            "order by a.completedAt desc, a.attemptId desc")
+    List<QuizAttempt> findHistoryPage(@Param("userId") Long userId,
+                                      @Param("statuses") Collection<AttemptStatus> statuses,
+                                      Limit limit);
+
+    @Query("select a from QuizAttempt a join fetch a.quiz join fetch a.user left join fetch a.quizSession " +
+            "where a.user.userId = :userId and a.status in :statuses " +
+            "and (a.completedAt < :completedAt or (a.completedAt = :completedAt and a.attemptId < :attemptId)) " +
+            "order by a.completedAt desc, a.attemptId desc")
+    List<QuizAttempt> findHistoryPageAfter(@Param("userId") Long userId,
+                                           @Param("statuses") Collection<AttemptStatus> statuses,
+                                           @Param("completedAt") LocalDateTime completedAt,
+                                           @Param("attemptId") Long attemptId,
+                                           Limit limit);
+
+    @Query("select a from QuizAttempt a join fetch a.quiz join fetch a.user left join fetch a.quizSession " +
+            "where a.user.userId = :userId and a.status in :statuses " +
+            "order by a.completedAt desc, a.attemptId desc")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<QuizAttempt> streamHistory(@Param("userId") Long userId,
+                                      @Param("statuses") Collection<AttemptStatus> statuses);
+
+    @Query("select a from QuizAttempt a join fetch a.quiz join fetch a.user left join fetch a.quizSession " +
+            "where a.user.userId = :studentId and a.quiz.createdBy.userId = :teacherId and a.status in :statuses " +
+            "order by a.completedAt desc, a.attemptId desc")
+    List<QuizAttempt> findTeacherHistoryPage(@Param("teacherId") Long teacherId,
+                                             @Param("studentId") Long studentId,
+                                             @Param("statuses") Collection<AttemptStatus> statuses,
+                                             Limit limit);
+
+    @Query("select a from QuizAttempt a join fetch a.quiz join fetch a.user left join fetch a.quizSession " +
+            "where a.user.userId = :studentId and a.quiz.createdBy.userId = :teacherId and a.status in :statuses " +
+            "and (a.completedAt < :completedAt or (a.completedAt = :completedAt and a.attemptId < :attemptId)) " +
+            "order by a.completedAt desc, a.attemptId desc")
+    List<QuizAttempt> findTeacherHistoryPageAfter(@Param("teacherId") Long teacherId,
+                                                  @Param("studentId") Long studentId,
+                                                  @Param("statuses") Collection<AttemptStatus> statuses,
+                                                  @Param("completedAt") LocalDateTime completedAt,
+                                                  @Param("attemptId") Long attemptId,
+                                                  Limit limit);
+
+    @Query("select a from QuizAttempt a join fetch a.quiz join fetch a.user left join fetch a.quizSession " +
+            "where a.user.userId = :studentId and a.quiz.createdBy.userId = :teacherId and a.status in :statuses " +
+            "order by a.completedAt desc, a.attemptId desc")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<QuizAttempt> streamTeacherHistory(@Param("teacherId") Long teacherId,
+                                             @Param("studentId") Long studentId,
+                                             @Param("statuses") Collection<AttemptStatus> statuses);
+
+    @Query("select u.userId as studentId, u.firstName as firstName, u.lastName as lastName, " +
+            "count(a) as quizzesTaken, avg(a.score) as avgScore, max(a.completedAt) as lastActive " +
+            "from QuizAttempt a join a.user u " +
+            "where a.quiz.createdBy.userId = :teacherId and a.status in :statuses " +
+            "group by u.userId, u.firstName, u.lastName")
+    List<StudentProgressRow> findStudentProgressByTeacherId(@Param("teacherId") Long teacherId,
+                                                            @Param("statuses") Collection<AttemptStatus> statuses);
+
+    @Query("select count(distinct a.user.userId) as activeStudents, " +
+            "coalesce(sum(case when a.status in :completedStatuses then 1 else 0 end), 0) as completedAttempts, " +
+            "count(a) as totalAttempts " +
+            "from QuizAttempt a where a.quiz.createdBy.userId = :teacherId")
+    AttemptTotals findTotalsByTeacherId(@Param("teacherId") Long teacherId,
+                                        @Param("completedStatuses") Collection<AttemptStatus> completedStatuses);
+
+    interface StudentProgressRow {
+        Long getStudentId();
+        String getFirstName();
+        String getLastName();
+        Long getQuizzesTaken();
+        Double getAvgScore();
+        LocalDateTime getLastActive();
+    }
+
+    interface AttemptTotals {
+        Long getActiveStudents();
+        Long getCompletedAttempts();
+        Long getTotalAttempts();
+    }
+
+    @Query("select a.attemptId as attemptId, u.userId as studentId, u.firstName as firstName, " +
+            "u.lastName as lastName, q.quizId as quizId, q.createdBy.userId as ownerId, " +
+            "s.sessionId as sessionId, a.score as score, a.attemptTime as attemptTime, " +
+            "a.startedAt as startedAt, a.completedAt as completedAt " +
+            "from QuizAttempt a join a.user u join a.quiz q left join a.quizSession s " +
+            "where a.status in :statuses")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<LeaderboardRow> streamLeaderboardRows(@Param("statuses") Collection<AttemptStatus> statuses);
+
+    @Query("select a.attemptId as attemptId, u.userId as studentId, u.firstName as firstName, " +
+            "u.lastName as lastName, q.quizId as quizId, q.createdBy.userId as ownerId, " +
+            "s.sessionId as sessionId, a.score as score, a.attemptTime as attemptTime, " +
+            "a.startedAt as startedAt, a.completedAt as completedAt " +
+            "from QuizAttempt a join a.user u join a.quiz q left join a.quizSession s " +
+            "where u.userId = :userId and q.quizId = :quizId and a.status in :statuses")
+    List<LeaderboardRow> findLeaderboardRows(@Param("userId") Long userId,
+                                             @Param("quizId") Long quizId,
+                                             @Param("statuses") Collection<AttemptStatus> statuses);
+
+    interface LeaderboardRow {
+        Long getAttemptId();
+        Long getStudentId();
+        String getFirstName();
+        String getLastName();
+        Long getQuizId();
+        Long getOwnerId();
+        Long getSessionId();
+        Float getScore();
+        Integer getAttemptTime();
+        LocalDateTime getStartedAt();
+        LocalDateTime getCompletedAt();
+    }
+
+    // Weakness rollups only cover SUBMITTED and GRADED attempts, so abandoning needs no rollup update here.
+    @Query(value = """
+            with abandoned as (
+                update quiz_attempts a
+                set status = 'ABANDONED', completed_at = :now
+                from quiz_sessions s
+                where a.session_id = s.session_id
+                  and a.status = 'IN_PROGRESS'
+                  and (s.status = 'EXPIRED' or s.end_time < :now)
+                returning a.user_id, a.quiz_id, a.score, a.completed_at
+            ), stats as (
+                insert into teacher_student_stats (teacher_id, student_id, attempt_count, finished_count,
+                                                   completed_count, finished_score_sum, last_completed_at)
+                select q.created_by, ab.user_id, 0, count(*), 0, coalesce(sum(ab.score), 0), max(ab.completed_at)
+                from abandoned ab
+                join quizzes q on q.quiz_id = ab.quiz_id
+                group by q.created_by, ab.user_id
+                on conflict (teacher_id, student_id) do update set
+                    finished_count = teacher_student_stats.finished_count + excluded.finished_count,
+                    finished_score_sum = teacher_student_stats.finished_score_sum + excluded.finished_score_sum,
+                    last_completed_at = greatest(teacher_student_stats.last_completed_at, excluded.last_completed_at)
+            )
+            select count(*) from abandoned
+            """, nativeQuery = true)
+    int abandonAttemptsOfExpiredSessions(@Param("now") LocalDateTime now);
 }
@@ -1,7 +1,11 @@
 package ro.ase.acs.mind_path.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ro.ase.acs.mind_path.entity.Quiz;
 import ro.ase.acs.mind_path.entity.enums.QuizStatus;
 
@@ -13,4 +17,38 @@ public interface QuizRepository extends JpaRepository<Quiz, Long> {
     boolean existsByTitleIgnoreCase(String title);
     List<Quiz> findAllByStatus(QuizStatus quizStatus);
     List<Quiz> findByCreatedByUserId(Long teacherId);
+
+    @Query("select q.quizId as quizId, q.revision as revision from Quiz q order by q.quizId")
+    List<RevisionRow> findRevisionRows();
+
+    @Query("select q.quizId as quizId, q.revision as revision from Quiz q " +
+            "where q.status = :status order by q.quizId")
+    List<RevisionRow> findRevisionRowsByStatus(@Param("status") QuizStatus status);
+
+    @Query("select q.revision from Quiz q where q.quizId = :quizId")
+    Long findRevisionById(@Param("quizId") Long quizId);
+
+    @Query("select count(q) as quizzes, coalesce(sum(q.revision), 0) as revisions, " +
+            "coalesce(max(q.quizId), 0) as maxQuizId, coalesce(max(q.revision), 0) as maxRevision from Quiz q")
+    CatalogRevision findCatalogRevision();
+
+    @Transactional
+    @Modifying
+    @Query("update Quiz q set q.revision = q.revision + 1 where q.quizId = :quizId")
+    int incrementRevision(@Param("quizId") Long quizId);
+
+    @Query("select q from Quiz q join fetch q.createdBy where q.quizId in :ids")
+    List<Quiz> findWithCreatorByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface RevisionRow {
+        Long getQuizId();
+        Long getRevision();
+    }
+
+    interface CatalogRevision {
+        Long getQuizzes();
+        Long getRevisions();
+        Long getMaxQuizId();
+        Long getMaxRevision();
+    }
 }
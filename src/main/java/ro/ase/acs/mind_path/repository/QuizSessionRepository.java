@@ -1,10 +1,14 @@
 package ro.ase.acs.mind_path.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ro.ase.acs.mind_path.entity.QuizSession;
 import ro.ase.acs.mind_path.entity.enums.SessionStatus;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,5 +16,13 @@ import java.util.Optional;
 public interface QuizSessionRepository extends JpaRepository<QuizSession, Long> {
     Optional<QuizSession> findByQuizQuizIdAndStatus(Long quizId, SessionStatus status);
     QuizSession findByAccessCode(String accessCode);
-    List<QuizSession> findByStatus(SessionStatus status);
+
+    @Query("select s.sessionId from QuizSession s where s.status = :active and s.endTime < :now")
+    List<Long> findIdsToExpire(@Param("active") SessionStatus active, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update QuizSession s set s.status = :expired where s.status = :active and s.endTime < :now")
+    int expireSessions(@Param("active") SessionStatus active,
+                       @Param("expired") SessionStatus expired,
+                       @Param("now") LocalDateTime now);
 }
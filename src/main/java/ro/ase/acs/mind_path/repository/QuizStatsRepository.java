@@ -0,0 +1,35 @@
+package ro.ase.acs.mind_path.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ro.ase.acs.mind_path.entity.QuizStats;
+
+import java.util.List;
+
+@Repository
+public interface QuizStatsRepository extends JpaRepository<QuizStats, Long> {
+    List<QuizStats> findByTeacherId(Long teacherId);
+
+    @Modifying
+    @Query(value = "delete from quiz_stats", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = """
+            insert into quiz_stats (quiz_id, teacher_id, attempt_count, completed_count,
+                                    completed_score_sum, last_completed_at)
+            select q.quiz_id,
+                   q.created_by,
+                   count(*),
+                   count(*) filter (where a.status in ('SUBMITTED', 'GRADED')),
+                   coalesce(sum(a.score) filter (where a.status in ('SUBMITTED', 'GRADED')), 0),
+                   max(a.completed_at) filter (where a.status in ('SUBMITTED', 'GRADED'))
+            from quiz_attempts a
+            join quizzes q on q.quiz_id = a.quiz_id
+            group by q.quiz_id, q.created_by
+            """, nativeQuery = true)
+    int rebuild();
+}
@@ -0,0 +1,61 @@
+package ro.ase.acs.mind_path.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ro.ase.acs.mind_path.entity.TeacherStudentStats;
+
+import java.util.List;
+
+@Repository
+public interface TeacherStudentStatsRepository extends JpaRepository<TeacherStudentStats, Long> {
+
+    @Query("select s from TeacherStudentStats s join fetch s.student st " +
+            "where s.teacherId = :teacherId and s.finishedCount > 0 " +
+            "order by st.lastName, st.userId")
+    List<TeacherStudentStats> findFinishedPage(@Param("teacherId") Long teacherId, Limit limit);
+
+    @Query("select s from TeacherStudentStats s join fetch s.student st " +
+            "where s.teacherId = :teacherId and s.finishedCount > 0 " +
+            "and (st.lastName > :lastName or (st.lastName = :lastName and st.userId > :studentId)) " +
+            "order by st.lastName, st.userId")
+    List<TeacherStudentStats> findFinishedPageAfter(@Param("teacherId") Long teacherId,
+                                                    @Param("lastName") String lastName,
+                                                    @Param("studentId") Long studentId,
+                                                    Limit limit);
+
+    @Query("select count(s) as activeStudents, coalesce(sum(s.completedCount), 0) as completedAttempts, " +
+            "coalesce(sum(s.attemptCount), 0) as totalAttempts " +
+            "from TeacherStudentStats s where s.teacherId = :teacherId and s.attemptCount > 0")
+    TeacherTotals findTotalsByTeacherId(@Param("teacherId") Long teacherId);
+
+    interface TeacherTotals {
+        Long getActiveStudents();
+        Long getCompletedAttempts();
+        Long getTotalAttempts();
+    }
+
+    @Modifying
+    @Query(value = "delete from teacher_student_stats", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = """
+            insert into teacher_student_stats (teacher_id, student_id, attempt_count, finished_count,
+                                               completed_count, finished_score_sum, last_completed_at)
+            select q.created_by,
+                   a.user_id,
+                   count(*),
+                   count(*) filter (where a.status in ('SUBMITTED', 'GRADED', 'ABANDONED')),
+                   count(*) filter (where a.status in ('SUBMITTED', 'GRADED')),
+                   coalesce(sum(a.score) filter (where a.status in ('SUBMITTED', 'GRADED', 'ABANDONED')), 0),
+                   max(a.completed_at) filter (where a.status in ('SUBMITTED', 'GRADED', 'ABANDONED'))
+            from quiz_attempts a
+            join quizzes q on q.quiz_id = a.quiz_id
+            group by q.created_by, a.user_id
+            """, nativeQuery = true)
+    int rebuild();
+}
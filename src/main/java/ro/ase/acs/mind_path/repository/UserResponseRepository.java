@@ -1,24 +1,29 @@
 package ro.ase.acs.mind_path.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ro.ase.acs.mind_path.entity.UserResponse;
 import ro.ase.acs.mind_path.entity.enums.QuestionType;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserResponseRepository extends JpaRepository<UserResponse, Long> {
     List<UserResponse> findByQuizAttemptAttemptId(Long attemptId);
-    void deleteByQuizAttemptAttemptIdAndQuestionQuestionId(Long attemptId, Long questionId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from UserResponse r where r.quizAttempt.attemptId = :attemptId and r.question.questionId in :questionIds")
+    int deleteByAttemptIdAndQuestionIdIn(@Param("attemptId") Long attemptId,
+                                         @Param("questionIds") Collection<Long> questionIds);
     Optional<UserResponse> findByQuizAttemptAttemptIdAndQuestionQuestionId(Long attemptId, Long questionId);
-    List<UserResponse> findByQuizAttemptAttemptIdAndQuestionType(Long attemptId, QuestionType type);
-    List<UserResponse> findByQuizAttemptUserUserIdAndQuizAttemptCompletedAtBetween(
-            Long userId,
-            LocalDateTime startInclusive,
-            LocalDateTime endExclusive
-    );
+    List<UserResponse> findByQuizAttemptAttemptIdInAndQuestionType(Collection<Long> attemptIds, QuestionType type);
+
+    @Query("select r from UserResponse r join fetch r.question left join fetch r.selectedAnswer " +
+            "where r.quizAttempt.attemptId in :attemptIds")
+    List<UserResponse> findWithQuestionAndAnswerByAttemptIdIn(@Param("attemptIds") Collection<Long> attemptIds);
 }
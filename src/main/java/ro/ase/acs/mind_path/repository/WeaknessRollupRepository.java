@@ -0,0 +1,89 @@
+package ro.ase.acs.mind_path.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ro.ase.acs.mind_path.entity.WeaknessRollup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WeaknessRollupRepository extends JpaRepository<WeaknessRollup, Long> {
+
+    @Query("select r from WeaknessRollup r where r.studentId = :studentId " +
+            "and r.bucketDate >= :from and r.bucketDate <= :to")
+    List<WeaknessRollup> findByStudentIdAndBucketDateBetween(@Param("studentId") Long studentId,
+                                                             @Param("from") LocalDate from,
+                                                             @Param("to") LocalDate to);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from WeaknessRollup r where r.studentId = :studentId " +
+            "and r.quizId = :quizId and r.bucketDate = :bucketDate")
+    int deleteBucket(@Param("studentId") Long studentId,
+                     @Param("quizId") Long quizId,
+                     @Param("bucketDate") LocalDate bucketDate);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            insert into weakness_rollups (student_id, bucket_date, quiz_id, question_type, difficulty,
+                                          response_count, incorrect_count, response_time_sum, rushing_errors)
+            select a.user_id,
+                   cast(a.completed_at as date),
+                   a.quiz_id,
+                   q.type,
+                   q.difficulty,
+                   count(*),
+                   count(*) filter (where not r.is_correct),
+                   coalesce(sum(r.response_time), 0),
+                   count(*) filter (where not r.is_correct and r.response_time < :fastSec)
+            from user_responses r
+            join quiz_attempts a on a.attempt_id = r.attempt_id
+            join questions q on q.question_id = r.question_id
+            where a.user_id = :studentId
+              and a.quiz_id = :quizId
+              and a.status in ('SUBMITTED', 'GRADED')
+              and a.completed_at >= :start
+              and a.completed_at < :end
+            group by a.user_id, cast(a.completed_at as date), a.quiz_id, q.type, q.difficulty
+            on conflict (student_id, bucket_date, quiz_id, question_type, difficulty) do update set
+                response_count = excluded.response_count,
+                incorrect_count = excluded.incorrect_count,
+                response_time_sum = excluded.response_time_sum,
+                rushing_errors = excluded.rushing_errors
+            """, nativeQuery = true)
+    int insertBucket(@Param("studentId") Long studentId,
+                     @Param("quizId") Long quizId,
+                     @Param("start") LocalDateTime start,
+                     @Param("end") LocalDateTime end,
+                     @Param("fastSec") int fastSec);
+
+    @Modifying
+    @Query(value = "delete from weakness_rollups", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = """
+            insert into weakness_rollups (student_id, bucket_date, quiz_id, question_type, difficulty,
+                                          response_count, incorrect_count, response_time_sum, rushing_errors)
+            select a.user_id,
+                   cast(a.completed_at as date),
+                   a.quiz_id,
+                   q.type,
+                   q.difficulty,
+                   count(*),
+                   count(*) filter (where not r.is_correct),
+                   coalesce(sum(r.response_time), 0),
+                   count(*) filter (where not r.is_correct and r.response_time < :fastSec)
+            from user_responses r
+            join quiz_attempts a on a.attempt_id = r.attempt_id
+            join questions q on q.question_id = r.question_id
+            where a.status in ('SUBMITTED', 'GRADED')
+              and a.completed_at is not null
+            group by a.user_id, cast(a.completed_at as date), a.quiz_id, q.type, q.difficulty
+            """, nativeQuery = true)
+    int rebuild(@Param("fastSec") int fastSec);
+}
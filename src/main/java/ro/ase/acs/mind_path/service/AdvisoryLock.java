@@ -0,0 +1,30 @@
+package ro.ase.acs.mind_path.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+public class AdvisoryLock {
+
+    public static final long SESSION_EXPIRY_SWEEP = 0x6d70_0001L;
+    public static final long ATTEMPT_ABANDON_SWEEP = 0x6d70_0002L;
+    public static final long DASHBOARD_AGGREGATES = 0x6d70_0003L;
+    public static final long WEAKNESS_ROLLUPS = 0x6d70_0004L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryLockForTransaction(long key) {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class, key));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockForTransaction(long key) {
+        jdbcTemplate.queryForObject("select pg_advisory_xact_lock(?)::text", String.class, key);
+    }
+}
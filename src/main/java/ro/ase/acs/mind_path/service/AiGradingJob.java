@@ -1,55 +1,180 @@
 package ro.ase.acs.mind_path.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-import ro.ase.acs.mind_path.entity.Question;
+import ro.ase.acs.mind_path.dto.response.SessionEventDto;
+import ro.ase.acs.mind_path.entity.QuizAttempt;
 import ro.ase.acs.mind_path.entity.UserResponse;
 import ro.ase.acs.mind_path.entity.enums.QuestionType;
 import ro.ase.acs.mind_path.repository.UserResponseRepository;
 
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class AiGradingJob {
 
     private final UserResponseRepository userResponseRepository;
-    private final AiGradingService aiGradingService;
+    private final List<GradingProvider> gradingProviders;
     private final GradingService gradingService;
+    private final GradeResultCache gradeResultCache;
+    private final Executor gradingExecutor;
+    private final SessionEventBus sessionEventBus;
+
+    @Value("${grading.ai.max-concurrency:16}")
+    private int maxConcurrency;
+
+    private Semaphore permits;
 
     private final static Logger logger = LoggerFactory.getLogger(AiGradingJob.class);
 
-    @Async
-    @Transactional
-    public void gradeAttempt(Long attemptId) {
+    private record OpenEndedSubmission(Long attemptId, Long responseId, Long questionId,
+                                       String question, String rubric, String answer) {}
+
+    private record RubricKey(Long questionId, String rubric) {}
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(maxConcurrency);
+    }
+
+    public Set<Long> gradeAttempts(Collection<Long> attemptIds) {
+        List<UserResponse> openEnded = userResponseRepository
+                .findByQuizAttemptAttemptIdInAndQuestionType(attemptIds, QuestionType.OPEN_ENDED);
+
+        List<OpenEndedSubmission> submissions = openEnded.stream()
+                .filter(ur -> ur.getTeacherScore() == null && ur.getAiScore() == null)
+                .map(ur -> new OpenEndedSubmission(
+                        ur.getQuizAttempt().getAttemptId(),
+                        ur.getResponseId(),
+                        ur.getQuestion().getQuestionId(),
+                        ur.getQuestion().getQuestionText(),
+                        ur.getSelectedAnswer().getAnswerText(),
+                        ur.getOpenEndedAnswer()))
+                .toList();
+
+        Map<Long, GradingProvider.GradeResult> grades = new ConcurrentHashMap<>();
+        Map<RubricKey, List<OpenEndedSubmission>> uncached = new LinkedHashMap<>();
+        for (OpenEndedSubmission submission : submissions) {
+            Optional<GradingProvider.GradeResult> cached = gradeResultCache.get(
+                    submission.questionId(), submission.rubric(), submission.answer());
+            if (cached.isPresent()) {
+                grades.put(submission.responseId(), cached.get());
+            } else {
+                uncached.computeIfAbsent(new RubricKey(submission.questionId(), submission.rubric()),
+                        k -> new ArrayList<>()).add(submission);
+            }
+        }
+
+        CompletableFuture.allOf(uncached.values().stream()
+                        .map(group -> CompletableFuture.runAsync(() -> gradeGroup(group, grades), gradingExecutor))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+
+        Map<Long, QuizAttempt> gradedAttempts = openEnded.stream()
+                .map(UserResponse::getQuizAttempt)
+                .collect(Collectors.toMap(QuizAttempt::getAttemptId, a -> a, (a, b) -> a, LinkedHashMap::new));
+        Map<Long, List<OpenEndedSubmission>> submissionsByAttempt = submissions.stream()
+                .collect(Collectors.groupingBy(OpenEndedSubmission::attemptId));
+
+        Set<Long> failedAttempts = new HashSet<>();
+        for (Long attemptId : gradedAttempts.keySet()) {
+            Map<Long, GradingProvider.GradeResult> attemptGrades = new HashMap<>();
+            for (OpenEndedSubmission submission : submissionsByAttempt.getOrDefault(attemptId, List.of())) {
+                GradingProvider.GradeResult result = grades.get(submission.responseId());
+                if (result == null) {
+                    failedAttempts.add(attemptId);
+                } else {
+                    attemptGrades.put(submission.responseId(), result);
+                }
+            }
+
+            try {
+                gradingService.applyAiGrades(attemptId, attemptGrades);
+                if (!failedAttempts.contains(attemptId)) {
+                    publishGradeReady(gradedAttempts.get(attemptId));
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to store AI grades for attempt {}", attemptId, e);
+                failedAttempts.add(attemptId);
+            }
+        }
+
+        return failedAttempts;
+    }
+
+    private void publishGradeReady(QuizAttempt attempt) {
+        if (attempt.getQuizSession() != null) {
+            sessionEventBus.publish(SessionEventDto.of(SessionEventDto.Type.GRADE_READY,
+                    attempt.getQuizSession().getSessionId(), attempt.getAttemptId(), attempt.getUser().getUserId()));
+        }
+    }
+
+    private void gradeGroup(List<OpenEndedSubmission> group, Map<Long, GradingProvider.GradeResult> grades) {
+        Map<String, List<OpenEndedSubmission>> byAnswer = group.stream()
+                .collect(Collectors.groupingBy(s -> GradeResultCache.normalize(s.answer()),
+                        LinkedHashMap::new, Collectors.toList()));
+        List<List<OpenEndedSubmission>> distinct = new ArrayList<>(byAnswer.values());
+        OpenEndedSubmission first = group.getFirst();
+
         try {
-            List<UserResponse> openEnded = userResponseRepository
-                    .findByQuizAttemptAttemptIdAndQuestionType(attemptId, QuestionType.OPEN_ENDED);
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
 
-            if (openEnded.isEmpty()) {
-                return;
+        try {
+            List<Integer> remaining = new ArrayList<>();
+            for (int i = 0; i < distinct.size(); i++) {
+                remaining.add(i);
             }
 
-            for (UserResponse ur : openEnded) {
-                if (ur.getTeacherScore() != null || ur.getAiScore() != null) continue;
-                Question q = ur.getQuestion();
-                String rubric = ur.getSelectedAnswer().getAnswerText();
-                AiGradingService.GradeResult gradeResult
-                        = aiGradingService.grade(q.getQuestionText(), rubric, ur.getOpenEndedAnswer());
+            for (GradingProvider provider : gradingProviders) {
+                if (remaining.isEmpty()) {
+                    break;
+                }
 
-                ur.setAiScore(gradeResult.score());
-                ur.setAiFeedback(gradeResult.feedback());
-                ur.setIsCorrect(gradeResult.score() >= 0.5);
+                List<String> answers = new ArrayList<>(remaining.size());
+                for (int index : remaining) {
+                    answers.add(distinct.get(index).getFirst().answer());
+                }
+                List<GradingProvider.GradeResult> results =
+                        provider.gradeBatch(first.question(), first.rubric(), answers);
+
+                List<Integer> declined = new ArrayList<>();
+                for (int j = 0; j < remaining.size(); j++) {
+                    GradingProvider.GradeResult result = results.get(j);
+                    List<OpenEndedSubmission> same = distinct.get(remaining.get(j));
+                    if (result == null) {
+                        declined.add(remaining.get(j));
+                        continue;
+                    }
+
+                    OpenEndedSubmission representative = same.getFirst();
+                    if (provider.isCacheable()) {
+                        gradeResultCache.put(representative.questionId(), representative.rubric(),
+                                representative.answer(), result);
+                    }
+                    for (OpenEndedSubmission submission : same) {
+                        grades.put(submission.responseId(), result);
+                    }
+                }
+                remaining = declined;
             }
-            gradingService.regradeAttempt(openEnded.getFirst().getQuizAttempt());
         } catch (Exception e) {
-            logger.error("AI grading failed for attempt {}", attemptId, e);
+            logger.error("AI grading failed for question {}", first.questionId(), e);
+        } finally {
+            permits.release();
         }
     }
 }
-
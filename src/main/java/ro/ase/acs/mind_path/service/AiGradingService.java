@@ -1,37 +1,62 @@
 package ro.ase.acs.mind_path.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.openai.client.OpenAIClient;
-import com.openai.models.ChatModel;
-import com.openai.models.ResponseFormatJsonObject;
-import com.openai.models.chat.completions.ChatCompletion;
-import com.openai.models.chat.completions.ChatCompletionCreateParams;
-import com.openai.models.chat.completions.ChatCompletionMessage;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 @Service
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnExpression("'${grading.llm.client:openai}' != 'none'")
 @RequiredArgsConstructor
-public class AiGradingService {
+public class AiGradingService implements GradingProvider {
+
+    private static final String SYSTEM_PROMPT = """
+            You are a strict grader.
+            Given the rubric and the student's answer,
+            respond ONLY with valid JSON: {"score": float 0-1, "feedback": string}
+            """;
 
-    public record GradeResult(float score, String feedback) {}
+    private static final String BATCH_SYSTEM_PROMPT = """
+            You are a strict grader.
+            Given the rubric and a JSON array of student answers, each with an id,
+            grade every answer independently against the rubric and
+            respond ONLY with valid JSON: {"results": [{"id": int, "score": float 0-1, "feedback": string}]}
+            containing exactly one result for every id.
+            """;
 
-    private final OpenAIClient openAi;
+    private static final int ANSWER_OVERHEAD_TOKENS = 40;
+
+    private final LlmClient llmClient;
     private final ObjectMapper objectMapper;
     private static final Logger logger = LoggerFactory.getLogger(AiGradingService.class);
 
+    @Value("${grading.batch.max-prompt-tokens:6000}")
+    private int maxPromptTokens;
+
+    @Value("${grading.batch.max-answers:20}")
+    private int maxAnswersPerRequest;
+
+    @Override
+    public String getName() {
+        return "llm";
+    }
+
     public GradeResult grade(String question, String rubric, String answer) throws JsonProcessingException {
-        ChatCompletionCreateParams createParams = ChatCompletionCreateParams.builder()
-                .model(ChatModel.GPT_4O_MINI)
-                .addSystemMessage("""
-                You are a strict grader.
-                Given the rubric and the student's answer,
-                respond ONLY with valid JSON: {"score": float 0-1, "feedback": string}
-                """)
-                .addUserMessage("""
+        String json = llmClient.complete(SYSTEM_PROMPT, """
                 QUESTION:
                 %s
 
@@ -40,21 +65,114 @@ public class AiGradingService {
 
                 STUDENT:
                 %s
-                """.formatted(question, rubric, answer))
-                .responseFormat(ChatCompletionCreateParams.ResponseFormat.ofJsonObject(
-                        ResponseFormatJsonObject.builder().build()))
-                .temperature(0.0)
-                .build();
-
-        ChatCompletion res = openAi.chat().completions().create(createParams);
-        ChatCompletionMessage msg = res.choices().getFirst().message();
-        String json = msg.content()
-                .orElseThrow(() -> new IllegalStateException("OpenAI returned no content"));
-        logger.info("raw content OpenAI = {}", json);
+                """.formatted(question, rubric, answer));
 
-        float score = (float) objectMapper.readTree(json).get("score").asDouble();
-        String feedback = objectMapper.readTree(json).get("feedback").asText();
+        JsonNode node = objectMapper.readTree(json);
+        float score = (float) node.get("score").asDouble();
+        String feedback = node.get("feedback").asText();
 
         return new GradeResult(score, feedback);
     }
+
+    @Override
+    public List<GradeResult> gradeBatch(String question, String rubric, List<String> answers) {
+        List<GradeResult> results = new ArrayList<>(Collections.nCopies(answers.size(), null));
+        int fixedTokens = estimateTokens(BATCH_SYSTEM_PROMPT) + estimateTokens(question) + estimateTokens(rubric);
+
+        int start = 0;
+        while (start < answers.size()) {
+            int end = start;
+            int tokens = fixedTokens;
+            while (end < answers.size() && end - start < maxAnswersPerRequest) {
+                int answerTokens = estimateTokens(answers.get(end)) + ANSWER_OVERHEAD_TOKENS;
+                if (end > start && tokens + answerTokens > maxPromptTokens) {
+                    break;
+                }
+                tokens += answerTokens;
+                end++;
+            }
+            gradeChunk(question, rubric, answers, start, end, results);
+            start = end;
+        }
+
+        return results;
+    }
+
+    private void gradeChunk(String question, String rubric, List<String> answers, int start, int end,
+                            List<GradeResult> results) {
+        if (end - start == 1) {
+            gradeSingle(question, rubric, answers, start, results);
+            return;
+        }
+
+        try {
+            List<GradeResult> chunk = requestBatch(question, rubric, answers.subList(start, end));
+            for (int i = 0; i < chunk.size(); i++) {
+                results.set(start + i, chunk.get(i));
+            }
+        } catch (LlmClient.TruncatedCompletionException e) {
+            int middle = (start + end) >>> 1;
+            logger.info("Batch of {} answers was truncated, splitting it in two", end - start);
+            gradeChunk(question, rubric, answers, start, middle, results);
+            gradeChunk(question, rubric, answers, middle, end, results);
+        } catch (Exception e) {
+            logger.warn("Batch grading of {} answers failed, falling back to single requests", end - start, e);
+            for (int i = start; i < end; i++) {
+                gradeSingle(question, rubric, answers, i, results);
+            }
+        }
+    }
+
+    private void gradeSingle(String question, String rubric, List<String> answers, int index,
+                             List<GradeResult> results) {
+        try {
+            results.set(index, grade(question, rubric, answers.get(index)));
+        } catch (Exception e) {
+            logger.error("AI grading failed for a single answer", e);
+        }
+    }
+
+    private List<GradeResult> requestBatch(String question, String rubric, List<String> answers)
+            throws JsonProcessingException {
+        ArrayNode items = objectMapper.createArrayNode();
+        for (int i = 0; i < answers.size(); i++) {
+            items.addObject().put("id", i).put("answer", answers.get(i));
+        }
+
+        String json = llmClient.complete(BATCH_SYSTEM_PROMPT, """
+                QUESTION:
+                %s
+
+                RUBRIC:
+                %s
+
+                ANSWERS:
+                %s
+                """.formatted(question, rubric, objectMapper.writeValueAsString(items)));
+
+        JsonNode resultsNode = objectMapper.readTree(json).get("results");
+        if (resultsNode == null || !resultsNode.isArray()) {
+            throw new IllegalStateException("Batch grading response has no results array");
+        }
+
+        GradeResult[] parsed = new GradeResult[answers.size()];
+        for (JsonNode node : resultsNode) {
+            int id = node.path("id").asInt(-1);
+            if (id < 0 || id >= parsed.length || !node.hasNonNull("score")) {
+                throw new IllegalStateException("Malformed batch grading result: " + node);
+            }
+            parsed[id] = new GradeResult((float) node.get("score").asDouble(), node.path("feedback").asText(""));
+        }
+
+        for (int i = 0; i < parsed.length; i++) {
+            if (parsed[i] == null) {
+                throw new IllegalStateException("Batch grading response is missing answer " + i);
+            }
+        }
+        return Arrays.asList(parsed);
+    }
+
+    static int estimateTokens(String text) {
+        return text == null ? 0 : text.length() / 4 + 1;
+    }
 }
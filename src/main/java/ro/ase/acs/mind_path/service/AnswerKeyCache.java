@@ -0,0 +1,151 @@
+package ro.ase.acs.mind_path.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ro.ase.acs.mind_path.entity.enums.QuestionType;
+import ro.ase.acs.mind_path.repository.AnswerRepository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class AnswerKeyCache {
+
+    private final AnswerRepository answerRepository;
+    private final QuizRevisions quizRevisions;
+
+    private final Map<Long, Compiled> keys = new ConcurrentHashMap<>();
+
+    private record Compiled(long revision, AnswerKey key) {}
+
+    public AnswerKey get(Long quizId) {
+        long revision = quizRevisions.revision(quizId);
+        Compiled compiled = keys.get(quizId);
+        if (compiled == null || compiled.revision() < revision) {
+            // Load outside the map so a slow query does not block other quizzes hashed to the same bin.
+            Compiled loaded = new Compiled(revision, load(quizId));
+            compiled = keys.merge(quizId, loaded, (existing, fresh) ->
+                    existing.revision() >= fresh.revision() ? existing : fresh);
+        }
+        return compiled.key();
+    }
+
+    private AnswerKey load(Long quizId) {
+        return AnswerKey.compile(answerRepository.findAnswerKeyRowsByQuizId(quizId));
+    }
+
+    public static final class AnswerKey {
+        private static final long[] NONE = new long[0];
+
+        private final long[] questionIds;
+        private final QuestionType[] types;
+        private final long[][] answerIds;
+        private final long[][] correctAnswerIds;
+        private final int[] incorrectCounts;
+
+        private AnswerKey(long[] questionIds, QuestionType[] types, long[][] answerIds,
+                          long[][] correctAnswerIds, int[] incorrectCounts) {
+            this.questionIds = questionIds;
+            this.types = types;
+            this.answerIds = answerIds;
+            this.correctAnswerIds = correctAnswerIds;
+            this.incorrectCounts = incorrectCounts;
+        }
+
+        static AnswerKey compile(List<AnswerRepository.AnswerKeyRow> rows) {
+            AnswerRepository.AnswerKeyRow[] sorted = rows.toArray(new AnswerRepository.AnswerKeyRow[0]);
+            Arrays.sort(sorted, (a, b) -> {
+                int byQuestion = Long.compare(a.getQuestionId(), b.getQuestionId());
+                return byQuestion != 0 ? byQuestion : Long.compare(a.getAnswerId(), b.getAnswerId());
+            });
+
+            int questionCount = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || !sorted[i].getQuestionId().equals(sorted[i - 1].getQuestionId())) {
+                    questionCount++;
+                }
+            }
+
+            long[] questionIds = new long[questionCount];
+            QuestionType[] types = new QuestionType[questionCount];
+            long[][] answerIds = new long[questionCount][];
+            long[][] correctAnswerIds = new long[questionCount][];
+            int[] incorrectCounts = new int[questionCount];
+
+            int q = -1;
+            int start = 0;
+            for (int i = 0; i <= sorted.length; i++) {
+                boolean boundary = i == sorted.length
+                        || (i > 0 && !sorted[i].getQuestionId().equals(sorted[i - 1].getQuestionId()));
+                if (i > 0 && boundary) {
+                    q++;
+                    questionIds[q] = sorted[start].getQuestionId();
+                    types[q] = sorted[start].getQuestionType();
+                    long[] all = new long[i - start];
+                    long[] correct = new long[i - start];
+                    int numCorrect = 0;
+                    for (int j = start; j < i; j++) {
+                        all[j - start] = sorted[j].getAnswerId();
+                        if (Boolean.TRUE.equals(sorted[j].getIsCorrect())) {
+                            correct[numCorrect++] = sorted[j].getAnswerId();
+                        }
+                    }
+                    answerIds[q] = all;
+                    correctAnswerIds[q] = Arrays.copyOf(correct, numCorrect);
+                    incorrectCounts[q] = all.length - numCorrect;
+                    start = i;
+                }
+            }
+
+            return new AnswerKey(questionIds, types, answerIds, correctAnswerIds, incorrectCounts);
+        }
+
+        public int questionCount() {
+            return questionIds.length;
+        }
+
+        public boolean hasQuestion(long questionId) {
+            return Arrays.binarySearch(questionIds, questionId) >= 0;
+        }
+
+        public QuestionType type(long questionId) {
+            int i = Arrays.binarySearch(questionIds, questionId);
+            return i < 0 ? null : types[i];
+        }
+
+        public boolean hasAnswer(long questionId, long answerId) {
+            int i = Arrays.binarySearch(questionIds, questionId);
+            return i >= 0 && Arrays.binarySearch(answerIds[i], answerId) >= 0;
+        }
+
+        public int correctCount(long questionId) {
+            return correctFor(questionId).length;
+        }
+
+        public int incorrectCount(long questionId) {
+            int i = Arrays.binarySearch(questionIds, questionId);
+            return i < 0 ? 0 : incorrectCounts[i];
+        }
+
+        public boolean isCorrect(long questionId, long answerId) {
+            return Arrays.binarySearch(correctFor(questionId), answerId) >= 0;
+        }
+
+        public Long exampleAnswerId(long questionId) {
+            long[] correct = correctFor(questionId);
+            return correct.length == 0 ? null : correct[0];
+        }
+
+        public long[] correctAnswerIds(long questionId) {
+            return correctFor(questionId).clone();
+        }
+
+        private long[] correctFor(long questionId) {
+            int i = Arrays.binarySearch(questionIds, questionId);
+            return i < 0 ? NONE : correctAnswerIds[i];
+        }
+    }
+}
@@ -8,7 +8,7 @@ import ro.ase.acs.mind_path.dto.response.AnswerSummaryDto;
 import ro.ase.acs.mind_path.entity.Answer;
 import ro.ase.acs.mind_path.entity.Question;
 import ro.ase.acs.mind_path.entity.Quiz;
-import ro.ase.acs.mind_path.entity.User;
+import ro.ase.acs.mind_path.entity.enums.QuestionType;
 import ro.ase.acs.mind_path.exception.AnswerNotFoundException;
 import ro.ase.acs.mind_path.exception.BadRequestException;
 import ro.ase.acs.mind_path.exception.ForbiddenException;
@@ -25,14 +25,17 @@ public class AnswerService {
     private final QuestionSummaryMapper questionSummaryMapper;
     private final AnswerRepository answerRepository;
     private final QuestionRepository questionRepository;
+    private final QuizRevisions quizRevisions;
+    private final GradeResultCache gradeResultCache;
+    private final ItemAnalysisService itemAnalysisService;
 
-    public void addAnswerToQuestion(Long questionId, AnswerCreationDto dto, User user) {
+    public void addAnswerToQuestion(Long questionId, AnswerCreationDto dto, Long userId) {
         Question question = questionRepository.findById(questionId)
                 .orElseThrow(QuestionNotFoundException::new);
 
         Quiz quiz = question.getQuiz();
 
-        if (!quiz.getCreatedBy().getUserId().equals(user.getUserId())) {
+        if (!quiz.getCreatedBy().getUserId().equals(userId)) {
             throw new ForbiddenException("Only the teacher that created the quiz can add answers to questions");
         }
 
@@ -52,6 +55,11 @@ public class AnswerService {
 
         question.getAnswers().add(answer);
         answerRepository.save(answer);
+        quizRevisions.bump(quiz.getQuizId());
+        itemAnalysisService.invalidate(quiz.getQuizId());
+        if (Boolean.TRUE.equals(answer.getIsCorrect())) {
+            invalidateRubric(question);
+        }
     }
 
     public List<AnswerSummaryDto> getAnswersForQuestion(Long questionId) {
@@ -64,14 +72,14 @@ public class AnswerService {
                 .toList();
     }
 
-    public void updateAnswer(Long id, AnswerCreationDto dto, User user) {
+    public void updateAnswer(Long id, AnswerCreationDto dto, Long userId) {
         Answer answer = answerRepository.findById(id)
                 .orElseThrow(AnswerNotFoundException::new);
 
         Question question = answer.getQuestion();
         Quiz quiz = question.getQuiz();
 
-        if (!quiz.getCreatedBy().getUserId().equals(user.getUserId())) {
+        if (!quiz.getCreatedBy().getUserId().equals(userId)) {
             throw new ForbiddenException("Only the teacher that created the quiz can edit answers");
         }
 
@@ -83,21 +91,38 @@ public class AnswerService {
             throw new BadRequestException("An answer with the same text already exists for this question");
         }
 
+        boolean wasRubric = Boolean.TRUE.equals(answer.getIsCorrect());
         answer.setAnswerText(dto.getAnswerText());
         answer.setIsCorrect(dto.getIsCorrect());
         answerRepository.save(answer);
+        quizRevisions.bump(quiz.getQuizId());
+        itemAnalysisService.invalidate(quiz.getQuizId());
+        if (wasRubric || Boolean.TRUE.equals(answer.getIsCorrect())) {
+            invalidateRubric(question);
+        }
     }
 
-    public void deleteAnswer(Long id, User user) {
+    public void deleteAnswer(Long id, Long userId) {
         Answer answer = answerRepository.findById(id)
                 .orElseThrow(AnswerNotFoundException::new);
 
         Quiz quiz = answer.getQuestion().getQuiz();
 
-        if (!quiz.getCreatedBy().getUserId().equals(user.getUserId())) {
+        if (!quiz.getCreatedBy().getUserId().equals(userId)) {
             throw new ForbiddenException("Only the teacher that created the quiz can delete answers");
         }
 
         answerRepository.delete(answer);
+        quizRevisions.bump(quiz.getQuizId());
+        itemAnalysisService.invalidate(quiz.getQuizId());
+        if (Boolean.TRUE.equals(answer.getIsCorrect())) {
+            invalidateRubric(answer.getQuestion());
+        }
+    }
+
+    private void invalidateRubric(Question question) {
+        if (question.getType() == QuestionType.OPEN_ENDED) {
+            gradeResultCache.invalidateQuestion(question.getQuestionId());
+        }
     }
 }
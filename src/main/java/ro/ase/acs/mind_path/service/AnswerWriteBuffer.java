@@ -0,0 +1,409 @@
+package ro.ase.acs.mind_path.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ro.ase.acs.mind_path.dto.request.SubmitAnswerRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+public class AnswerWriteBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerWriteBuffer.class);
+
+    private static final int STRIPES = 64;
+    private static final String ANSWER = "ANSWER";
+    private static final String FLUSHED = "FLUSHED";
+    private static final String CLOSED = "CLOSED";
+
+    public record OpenAttempt(Long attemptId, Long userId, Long quizId, LocalDateTime deadline, Long sessionId) {
+        public boolean isExpired(LocalDateTime now) {
+            return deadline != null && deadline.isBefore(now);
+        }
+    }
+
+    public record PendingAnswer(long sequence, SubmitAnswerRequest request) {}
+
+    public enum OfferResult { ACCEPTED, REJECTED, CLOSED }
+
+    record JournalRecord(String type, long sequence, OpenAttempt attempt, SubmitAnswerRequest request,
+                         Long attemptId, List<Long> sequences) {}
+
+    private static final class AttemptBuffer {
+        private final OpenAttempt attempt;
+        private final Map<Long, PendingAnswer> pending = new LinkedHashMap<>();
+        private final ReentrantLock flushLock = new ReentrantLock();
+        private volatile LocalDateTime lastTouched = LocalDateTime.now();
+        private boolean closed;
+
+        private AttemptBuffer(OpenAttempt attempt) {
+            this.attempt = attempt;
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${attempts.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${attempts.write-behind.max-attempts:5000}")
+    private int maxAttempts;
+
+    @Value("${attempts.write-behind.max-pending-per-attempt:500}")
+    private int maxPendingPerAttempt;
+
+    @Value("${attempts.write-behind.idle-timeout-minutes:30}")
+    private long idleTimeoutMinutes;
+
+    @Value("${attempts.write-behind.journal:data/answer-journal.log}")
+    private String journalPath;
+
+    @Value("${attempts.write-behind.journal-fsync:false}")
+    private boolean journalFsync;
+
+    private final Map<Long, AttemptBuffer> buffers = new ConcurrentHashMap<>();
+    private final Object[] stripes = new Object[STRIPES];
+    private final AtomicLong sequence = new AtomicLong();
+    private final Object journalLock = new Object();
+    private FileChannel journal;
+
+    @PostConstruct
+    void open() throws IOException {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        if (!enabled) {
+            return;
+        }
+
+        Path path = Path.of(journalPath);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        if (Files.exists(path)) {
+            replay(path);
+        }
+        journal = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        journal.position(journal.size());
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public OpenAttempt openAttempt(Long attemptId) {
+        AttemptBuffer buffer = buffers.get(attemptId);
+        return buffer == null ? null : buffer.attempt;
+    }
+
+    public boolean register(OpenAttempt attempt) {
+        if (buffers.size() >= maxAttempts && !buffers.containsKey(attempt.attemptId())) {
+            return false;
+        }
+        buffers.putIfAbsent(attempt.attemptId(), new AttemptBuffer(attempt));
+        return true;
+    }
+
+    public OfferResult offer(Long attemptId, SubmitAnswerRequest request) {
+        AttemptBuffer buffer = buffers.get(attemptId);
+        if (buffer == null) {
+            return OfferResult.REJECTED;
+        }
+
+        synchronized (stripe(attemptId)) {
+            if (buffers.get(attemptId) != buffer) {
+                return OfferResult.REJECTED;
+            }
+            if (buffer.closed) {
+                return OfferResult.CLOSED;
+            }
+            if (buffer.pending.size() >= maxPendingPerAttempt && !buffer.pending.containsKey(request.getQuestionId())) {
+                return OfferResult.REJECTED;
+            }
+
+            long seq = sequence.incrementAndGet();
+            append(new JournalRecord(ANSWER, seq, buffer.attempt, request, attemptId, null));
+            buffer.pending.put(request.getQuestionId(), new PendingAnswer(seq, request));
+            buffer.lastTouched = LocalDateTime.now();
+        }
+        return OfferResult.ACCEPTED;
+    }
+
+    public void flush(Long attemptId, BiConsumer<OpenAttempt, List<PendingAnswer>> writer) {
+        AttemptBuffer buffer = buffers.get(attemptId);
+        if (buffer == null) {
+            return;
+        }
+
+        buffer.flushLock.lock();
+        try {
+            List<PendingAnswer> batch;
+            synchronized (stripe(attemptId)) {
+                if (buffer.closed) {
+                    return;
+                }
+                batch = new ArrayList<>(buffer.pending.values());
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            writer.accept(buffer.attempt, batch);
+            afterCompletion(committed -> {
+                if (committed) {
+                    markFlushed(attemptId, buffer, batch);
+                }
+            });
+        } finally {
+            buffer.flushLock.unlock();
+        }
+    }
+
+    public void closeAndFlush(Long attemptId, BiConsumer<OpenAttempt, List<PendingAnswer>> writer) {
+        AttemptBuffer buffer = buffers.get(attemptId);
+        if (buffer == null) {
+            return;
+        }
+
+        buffer.flushLock.lock();
+        try {
+            List<PendingAnswer> batch;
+            synchronized (stripe(attemptId)) {
+                buffer.closed = true;
+                batch = new ArrayList<>(buffer.pending.values());
+            }
+            if (!batch.isEmpty()) {
+                writer.accept(buffer.attempt, batch);
+            }
+            afterCompletion(committed -> {
+                if (committed) {
+                    discard(attemptId, buffer);
+                } else {
+                    reopen(attemptId, buffer);
+                }
+            });
+        } catch (RuntimeException e) {
+            reopen(attemptId, buffer);
+            throw e;
+        } finally {
+            buffer.flushLock.unlock();
+        }
+    }
+
+    public void discard(Long attemptId) {
+        AttemptBuffer buffer = buffers.get(attemptId);
+        if (buffer != null) {
+            discard(attemptId, buffer);
+        }
+    }
+
+    public void forget(Long attemptId) {
+        AttemptBuffer buffer = buffers.get(attemptId);
+        if (buffer == null) {
+            return;
+        }
+
+        synchronized (stripe(attemptId)) {
+            if (!buffer.pending.isEmpty()) {
+                return;
+            }
+            buffers.remove(attemptId, buffer);
+        }
+        append(new JournalRecord(CLOSED, 0, null, null, attemptId, null));
+    }
+
+    public List<Long> bufferedAttemptIds() {
+        return new ArrayList<>(buffers.keySet());
+    }
+
+    public void evictIdle(LocalDateTime now) {
+        LocalDateTime idleSince = now.minus(Duration.ofMinutes(idleTimeoutMinutes));
+        for (AttemptBuffer buffer : buffers.values()) {
+            if (buffer.attempt.isExpired(now) || buffer.lastTouched.isBefore(idleSince)) {
+                forget(buffer.attempt.attemptId());
+            }
+        }
+    }
+
+    public void compactJournal() {
+        if (journal == null) {
+            return;
+        }
+
+        long seq = sequence.get();
+        for (Map.Entry<Long, AttemptBuffer> entry : buffers.entrySet()) {
+            synchronized (stripe(entry.getKey())) {
+                if (!entry.getValue().pending.isEmpty()) {
+                    return;
+                }
+            }
+        }
+
+        synchronized (journalLock) {
+            if (sequence.get() != seq) {
+                return;
+            }
+            try {
+                journal.truncate(0);
+                journal.position(0);
+            } catch (IOException e) {
+                logger.warn("Failed to compact answer journal {}", journalPath, e);
+            }
+        }
+    }
+
+    private void markFlushed(Long attemptId, AttemptBuffer buffer, List<PendingAnswer> batch) {
+        List<Long> sequences = new ArrayList<>(batch.size());
+        synchronized (stripe(attemptId)) {
+            for (PendingAnswer answer : batch) {
+                buffer.pending.remove(answer.request().getQuestionId(), answer);
+                sequences.add(answer.sequence());
+            }
+        }
+        append(new JournalRecord(FLUSHED, 0, null, null, attemptId, sequences));
+    }
+
+    private void discard(Long attemptId, AttemptBuffer buffer) {
+        synchronized (stripe(attemptId)) {
+            if (!buffers.remove(attemptId, buffer)) {
+                return;
+            }
+            if (!buffer.pending.isEmpty()) {
+                logger.info("Dropping {} buffered answers of closed attempt {}", buffer.pending.size(), attemptId);
+                buffer.pending.clear();
+            }
+        }
+        append(new JournalRecord(CLOSED, 0, null, null, attemptId, null));
+    }
+
+    private void reopen(Long attemptId, AttemptBuffer buffer) {
+        synchronized (stripe(attemptId)) {
+            buffer.closed = false;
+        }
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            action.accept(true);
+        }
+    }
+
+    private Object stripe(Long attemptId) {
+        return stripes[(Long.hashCode(attemptId) & Integer.MAX_VALUE) % STRIPES];
+    }
+
+    private void append(JournalRecord record) {
+        if (journal == null) {
+            return;
+        }
+
+        try {
+            byte[] line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+            synchronized (journalLock) {
+                ByteBuffer buffer = ByteBuffer.wrap(line);
+                while (buffer.hasRemaining()) {
+                    journal.write(buffer);
+                }
+                if (journalFsync) {
+                    journal.force(false);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to answer journal", e);
+        }
+    }
+
+    private void replay(Path path) throws IOException {
+        Map<Long, AttemptBuffer> recovered = new LinkedHashMap<>();
+        long maxSequence = 0;
+        int lineNumber = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                JournalRecord record;
+                try {
+                    record = objectMapper.readValue(line, JournalRecord.class);
+                } catch (IOException e) {
+                    logger.warn("Skipping unreadable answer journal entry at line {}", lineNumber);
+                    continue;
+                }
+
+                switch (record.type()) {
+                    case ANSWER -> {
+                        maxSequence = Math.max(maxSequence, record.sequence());
+                        recovered.computeIfAbsent(record.attemptId(), id -> new AttemptBuffer(record.attempt()))
+                                .pending.put(record.request().getQuestionId(),
+                                        new PendingAnswer(record.sequence(), record.request()));
+                    }
+                    case FLUSHED -> {
+                        AttemptBuffer buffer = recovered.get(record.attemptId());
+                        if (buffer != null) {
+                            Set<Long> flushed = new HashSet<>(record.sequences());
+                            buffer.pending.values().removeIf(answer -> flushed.contains(answer.sequence()));
+                        }
+                    }
+                    case CLOSED -> recovered.remove(record.attemptId());
+                    default -> logger.warn("Skipping unknown answer journal entry type {}", record.type());
+                }
+            }
+        }
+
+        sequence.set(maxSequence);
+        int pendingAnswers = 0;
+        for (AttemptBuffer buffer : recovered.values()) {
+            if (!buffer.pending.isEmpty()) {
+                buffers.put(buffer.attempt.attemptId(), buffer);
+                pendingAnswers += buffer.pending.size();
+            }
+        }
+
+        if (pendingAnswers > 0) {
+            logger.info("Recovered {} unflushed answers for {} attempts from {}", pendingAnswers, buffers.size(), path);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ro.ase.acs.mind_path.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ro.ase.acs.mind_path.entity.Question;
+import ro.ase.acs.mind_path.entity.QuizAttempt;
+import ro.ase.acs.mind_path.entity.UserResponse;
+import ro.ase.acs.mind_path.repository.QuestionRepository;
+import ro.ase.acs.mind_path.repository.UserResponseRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class AttemptAggregateLoader {
+
+    public record AttemptAggregate(QuizAttempt attempt, List<Question> questions, List<UserResponse> responses) {}
+
+    private final QuestionRepository questionRepository;
+    private final UserResponseRepository userResponseRepository;
+
+    public AttemptAggregate load(QuizAttempt attempt) {
+        return loadAll(List.of(attempt)).getFirst();
+    }
+
+    public List<UserResponse> loadResponses(QuizAttempt attempt) {
+        return userResponseRepository.findWithQuestionAndAnswerByAttemptIdIn(List.of(attempt.getAttemptId()));
+    }
+
+    public List<AttemptAggregate> loadAll(List<QuizAttempt> attempts) {
+        if (attempts.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> quizIds = attempts.stream()
+                .map(a -> a.getQuiz().getQuizId())
+                .distinct()
+                .toList();
+        List<Long> attemptIds = attempts.stream()
+                .map(QuizAttempt::getAttemptId)
+                .toList();
+
+        Map<Long, List<Question>> questionsByQuiz = questionRepository.findWithAnswersByQuizIdIn(quizIds)
+                .stream()
+                .collect(Collectors.groupingBy(q -> q.getQuiz().getQuizId()));
+        Map<Long, List<UserResponse>> responsesByAttempt = userResponseRepository
+                .findWithQuestionAndAnswerByAttemptIdIn(attemptIds)
+                .stream()
+                .collect(Collectors.groupingBy(r -> r.getQuizAttempt().getAttemptId()));
+
+        List<AttemptAggregate> aggregates = new ArrayList<>(attempts.size());
+        for (QuizAttempt attempt : attempts) {
+            aggregates.add(new AttemptAggregate(
+                    attempt,
+                    questionsByQuiz.getOrDefault(attempt.getQuiz().getQuizId(), List.of()),
+                    responsesByAttempt.getOrDefault(attempt.getAttemptId(), List.of())));
+        }
+        return aggregates;
+    }
+}
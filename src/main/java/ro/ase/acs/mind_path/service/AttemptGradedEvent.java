@@ -0,0 +1,4 @@
+package ro.ase.acs.mind_path.service;
+
+public record AttemptGradedEvent(Long attemptId, Long userId, Long quizId) {
+}
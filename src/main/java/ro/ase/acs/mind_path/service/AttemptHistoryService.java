@@ -0,0 +1,137 @@
+package ro.ase.acs.mind_path.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ro.ase.acs.mind_path.dto.mapper.AttemptMapper;
+import ro.ase.acs.mind_path.dto.response.AttemptResultDto;
+import ro.ase.acs.mind_path.dto.response.CursorPageDto;
+import ro.ase.acs.mind_path.entity.QuizAttempt;
+import ro.ase.acs.mind_path.entity.enums.AttemptStatus;
+import ro.ase.acs.mind_path.repository.QuizAttemptRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class AttemptHistoryService {
+
+    // Students only see fully graded attempts; teachers also see ones still waiting for AI grading.
+    private static final List<AttemptStatus> STUDENT_HISTORY_STATUSES = List.of(AttemptStatus.GRADED);
+    private static final List<AttemptStatus> TEACHER_HISTORY_STATUSES =
+            List.of(AttemptStatus.SUBMITTED, AttemptStatus.GRADED);
+
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final AttemptAggregateLoader attemptAggregateLoader;
+    private final AttemptMapper attemptMapper;
+    private final AttemptResultSnapshotService attemptResultSnapshotService;
+    private final EntityManager entityManager;
+
+    @Value("${history.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${history.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${history.stream.chunk-size:100}")
+    private int streamChunkSize;
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<AttemptResultDto> getCompletedAttempts(Long userId, String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize(size) + 1);
+
+        List<QuizAttempt> attempts = after == null
+                ? quizAttemptRepository.findHistoryPage(userId, STUDENT_HISTORY_STATUSES, limit)
+                : quizAttemptRepository.findHistoryPageAfter(userId, STUDENT_HISTORY_STATUSES,
+                        after.timestampKey(), after.id(), limit);
+        return toAttemptPage(attempts, pageSize(size));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<AttemptResultDto> getStudentAttempts(Long teacherId, Long studentId,
+                                                              String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize(size) + 1);
+
+        List<QuizAttempt> attempts = after == null
+                ? quizAttemptRepository.findTeacherHistoryPage(teacherId, studentId, TEACHER_HISTORY_STATUSES, limit)
+                : quizAttemptRepository.findTeacherHistoryPageAfter(teacherId, studentId, TEACHER_HISTORY_STATUSES,
+                        after.timestampKey(), after.id(), limit);
+        return toAttemptPage(attempts, pageSize(size));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamCompletedAttempts(Long userId, Consumer<AttemptResultDto> sink) {
+        try (Stream<QuizAttempt> attempts = quizAttemptRepository.streamHistory(userId, STUDENT_HISTORY_STATUSES)) {
+            streamInChunks(attempts, sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamStudentAttempts(Long teacherId, Long studentId, Consumer<AttemptResultDto> sink) {
+        try (Stream<QuizAttempt> attempts =
+                     quizAttemptRepository.streamTeacherHistory(teacherId, studentId, TEACHER_HISTORY_STATUSES)) {
+            streamInChunks(attempts, sink);
+        }
+    }
+
+    private void streamInChunks(Stream<QuizAttempt> attempts, Consumer<AttemptResultDto> sink) {
+        Iterator<QuizAttempt> iterator = attempts.iterator();
+        List<QuizAttempt> chunk = new ArrayList<>(streamChunkSize);
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == streamChunkSize || !iterator.hasNext()) {
+                toResultDtos(chunk).forEach(sink);
+                chunk.clear();
+                entityManager.clear();
+            }
+        }
+    }
+
+    private CursorPageDto<AttemptResultDto> toAttemptPage(List<QuizAttempt> attempts, int pageSize) {
+        List<QuizAttempt> page = attempts.size() > pageSize ? attempts.subList(0, pageSize) : attempts;
+        String nextCursor = null;
+        if (attempts.size() > pageSize) {
+            QuizAttempt last = page.getLast();
+            nextCursor = KeysetCursor.of(last.getCompletedAt(), last.getAttemptId()).encode();
+        }
+        return new CursorPageDto<>(toResultDtos(page), nextCursor);
+    }
+
+    private List<AttemptResultDto> toResultDtos(List<QuizAttempt> attempts) {
+        List<Long> gradedIds = attempts.stream()
+                .filter(a -> a.getStatus() == AttemptStatus.GRADED)
+                .map(QuizAttempt::getAttemptId)
+                .toList();
+        Map<Long, AttemptResultDto> results = new HashMap<>(attemptResultSnapshotService.findAll(gradedIds));
+
+        List<QuizAttempt> missing = attempts.stream()
+                .filter(a -> !results.containsKey(a.getAttemptId()))
+                .toList();
+        for (AttemptAggregateLoader.AttemptAggregate aggregate : attemptAggregateLoader.loadAll(missing)) {
+            results.put(aggregate.attempt().getAttemptId(), attemptMapper.toResultDto(
+                    aggregate.attempt(), aggregate.questions(), aggregate.responses()));
+        }
+
+        return attempts.stream()
+                .map(a -> results.get(a.getAttemptId()))
+                .toList();
+    }
+
+    int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+}
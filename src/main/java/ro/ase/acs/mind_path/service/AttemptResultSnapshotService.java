@@ -0,0 +1,90 @@
+package ro.ase.acs.mind_path.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ro.ase.acs.mind_path.dto.mapper.AttemptMapper;
+import ro.ase.acs.mind_path.dto.response.AttemptResultDto;
+import ro.ase.acs.mind_path.entity.AttemptResultSnapshot;
+import ro.ase.acs.mind_path.entity.Question;
+import ro.ase.acs.mind_path.entity.QuizAttempt;
+import ro.ase.acs.mind_path.entity.UserResponse;
+import ro.ase.acs.mind_path.repository.AttemptResultSnapshotRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class AttemptResultSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttemptResultSnapshotService.class);
+
+    static final int FORMAT_VERSION = 1;
+
+    private final AttemptResultSnapshotRepository attemptResultSnapshotRepository;
+    private final AttemptAggregateLoader attemptAggregateLoader;
+    private final AttemptMapper attemptMapper;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public AttemptResultDto store(QuizAttempt attempt) {
+        AttemptAggregateLoader.AttemptAggregate aggregate = attemptAggregateLoader.load(attempt);
+        return store(attempt, aggregate.questions(), aggregate.responses());
+    }
+
+    @Transactional
+    public AttemptResultDto store(QuizAttempt attempt, List<Question> questions, List<UserResponse> responses) {
+        AttemptResultDto result = attemptMapper.toResultDto(attempt, questions, responses);
+        try {
+            attemptResultSnapshotRepository.save(AttemptResultSnapshot.builder()
+                    .attemptId(attempt.getAttemptId())
+                    .formatVersion(FORMAT_VERSION)
+                    .payload(objectMapper.writeValueAsString(result))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to serialize result snapshot for attempt {}", attempt.getAttemptId(), e);
+        }
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<AttemptResultDto> find(Long attemptId) {
+        return attemptResultSnapshotRepository.findById(attemptId).flatMap(this::read);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, AttemptResultDto> findAll(Collection<Long> attemptIds) {
+        Map<Long, AttemptResultDto> results = new HashMap<>();
+        for (AttemptResultSnapshot snapshot : attemptResultSnapshotRepository.findAllById(attemptIds)) {
+            read(snapshot).ifPresent(result -> results.put(snapshot.getAttemptId(), result));
+        }
+        return results;
+    }
+
+    @Transactional
+    public void invalidate(Long attemptId) {
+        attemptResultSnapshotRepository.deleteByAttemptId(attemptId);
+    }
+
+    private Optional<AttemptResultDto> read(AttemptResultSnapshot snapshot) {
+        if (snapshot.getFormatVersion() != FORMAT_VERSION) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(snapshot.getPayload(), AttemptResultDto.class));
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring unreadable result snapshot for attempt {}", snapshot.getAttemptId(), e);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ro.ase.acs.mind_path.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ro.ase.acs.mind_path.entity.QuizAttempt;
+import ro.ase.acs.mind_path.entity.enums.AttemptStatus;
+import ro.ase.acs.mind_path.repository.QuizAttemptRepository;
+import ro.ase.acs.mind_path.repository.QuizStatsRepository;
+import ro.ase.acs.mind_path.repository.TeacherStudentStatsRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class DashboardAggregateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardAggregateService.class);
+
+    private static final String TEACHER_STUDENT_DELTA = """
+            insert into teacher_student_stats (teacher_id, student_id, attempt_count, finished_count,
+                                               completed_count, finished_score_sum, last_completed_at)
+            values (?, ?, ?, ?, ?, ?, ?)
+            on conflict (teacher_id, student_id) do update set
+                attempt_count = teacher_student_stats.attempt_count + excluded.attempt_count,
+                finished_count = teacher_student_stats.finished_count + excluded.finished_count,
+                completed_count = teacher_student_stats.completed_count + excluded.completed_count,
+                finished_score_sum = teacher_student_stats.finished_score_sum + excluded.finished_score_sum,
+                last_completed_at = greatest(teacher_student_stats.last_completed_at, excluded.last_completed_at)
+            """;
+
+    private static final String QUIZ_DELTA = """
+            insert into quiz_stats (quiz_id, teacher_id, attempt_count, completed_count,
+                                    completed_score_sum, last_completed_at)
+            values (?, ?, ?, ?, ?, ?)
+            on conflict (quiz_id) do update set
+                attempt_count = quiz_stats.attempt_count + excluded.attempt_count,
+                completed_count = quiz_stats.completed_count + excluded.completed_count,
+                completed_score_sum = quiz_stats.completed_score_sum + excluded.completed_score_sum,
+                last_completed_at = greatest(quiz_stats.last_completed_at, excluded.last_completed_at)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AdvisoryLock advisoryLock;
+    private final TeacherStudentStatsRepository teacherStudentStatsRepository;
+    private final QuizStatsRepository quizStatsRepository;
+    private final QuizAttemptRepository quizAttemptRepository;
+
+    @Transactional
+    public void recordStarted(QuizAttempt attempt) {
+        Long teacherId = attempt.getQuiz().getCreatedBy().getUserId();
+        jdbcTemplate.update(TEACHER_STUDENT_DELTA, teacherId, attempt.getUser().getUserId(), 1, 0, 0, 0.0, null);
+        jdbcTemplate.update(QUIZ_DELTA, attempt.getQuiz().getQuizId(), teacherId, 1, 0, 0.0, null);
+    }
+
+    @Transactional
+    public void recordFinished(QuizAttempt attempt) {
+        Long teacherId = attempt.getQuiz().getCreatedBy().getUserId();
+        boolean completed = isCompleted(attempt.getStatus());
+        double score = attempt.getScore() != null ? attempt.getScore() : 0;
+        Timestamp completedAt = timestamp(attempt.getCompletedAt());
+
+        jdbcTemplate.update(TEACHER_STUDENT_DELTA, teacherId, attempt.getUser().getUserId(),
+                0, 1, completed ? 1 : 0, score, completedAt);
+        if (completed) {
+            jdbcTemplate.update(QUIZ_DELTA, attempt.getQuiz().getQuizId(), teacherId, 0, 1, score, completedAt);
+        }
+    }
+
+    @Transactional
+    public void recordScoreChange(QuizAttempt attempt, Float previousScore) {
+        double delta = (attempt.getScore() != null ? attempt.getScore() : 0)
+                - (previousScore != null ? previousScore : 0);
+        if (delta == 0 || !isCompleted(attempt.getStatus())) {
+            return;
+        }
+
+        Long teacherId = attempt.getQuiz().getCreatedBy().getUserId();
+        jdbcTemplate.update(TEACHER_STUDENT_DELTA, teacherId, attempt.getUser().getUserId(), 0, 0, 0, delta, null);
+        jdbcTemplate.update(QUIZ_DELTA, attempt.getQuiz().getQuizId(), teacherId, 0, 0, delta, null);
+    }
+
+    @Transactional
+    public int rebuild() {
+        advisoryLock.lockForTransaction(AdvisoryLock.DASHBOARD_AGGREGATES);
+        teacherStudentStatsRepository.deleteAllRows();
+        quizStatsRepository.deleteAllRows();
+        quizStatsRepository.rebuild();
+        return teacherStudentStatsRepository.rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (!advisoryLock.tryLockForTransaction(AdvisoryLock.DASHBOARD_AGGREGATES)) {
+            return;
+        }
+        if ((quizStatsRepository.count() == 0 || teacherStudentStatsRepository.count() == 0)
+                && quizAttemptRepository.count() > 0) {
+            int rows = rebuild();
+            logger.info("Backfilled dashboard aggregates for {} teacher-student pairs", rows);
+        }
+    }
+
+    private static boolean isCompleted(AttemptStatus status) {
+        return status == AttemptStatus.SUBMITTED || status == AttemptStatus.GRADED;
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+}
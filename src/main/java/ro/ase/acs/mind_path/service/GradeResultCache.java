@@ -0,0 +1,129 @@
+package ro.ase.acs.mind_path.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ro.ase.acs.mind_path.dto.response.GradeCacheStatsDto;
+import ro.ase.acs.mind_path.repository.GradeCacheEntryRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+public class GradeResultCache {
+
+    private record Key(Long questionId, String rubricHash, String answerHash) {}
+
+    private final GradeCacheEntryRepository gradeCacheEntryRepository;
+
+    @Value("${grading.cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<Key, GradingProvider.GradeResult> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, GradingProvider.GradeResult> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong databaseHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public Optional<GradingProvider.GradeResult> get(Long questionId, String rubric, String answer) {
+        Key key = key(questionId, rubric, answer);
+
+        GradingProvider.GradeResult cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return Optional.of(cached);
+        }
+
+        Optional<GradingProvider.GradeResult> stored = gradeCacheEntryRepository
+                .findByQuestionIdAndRubricHashAndAnswerHash(key.questionId(), key.rubricHash(), key.answerHash())
+                .map(e -> new GradingProvider.GradeResult(e.getScore(), e.getFeedback()));
+
+        if (stored.isPresent()) {
+            databaseHits.incrementAndGet();
+            synchronized (entries) {
+                entries.put(key, stored.get());
+            }
+        } else {
+            misses.incrementAndGet();
+        }
+        return stored;
+    }
+
+    public void put(Long questionId, String rubric, String answer, GradingProvider.GradeResult result) {
+        Key key = key(questionId, rubric, answer);
+        gradeCacheEntryRepository.insertIfAbsent(key.questionId(), key.rubricHash(), key.answerHash(),
+                result.score(), result.feedback(), LocalDateTime.now());
+        synchronized (entries) {
+            entries.put(key, result);
+        }
+    }
+
+    public void invalidateQuestion(Long questionId) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.questionId().equals(questionId));
+        }
+        gradeCacheEntryRepository.deleteByQuestionId(questionId);
+    }
+
+    public GradeCacheStatsDto getStats() {
+        long memory = memoryHits.get();
+        long database = databaseHits.get();
+        long missed = misses.get();
+        long lookups = memory + database + missed;
+
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        return GradeCacheStatsDto.builder()
+                .memoryHits(memory)
+                .databaseHits(database)
+                .misses(missed)
+                .hitRate(lookups == 0 ? 0.0 : (double) (memory + database) / lookups)
+                .memoryEntries(size)
+                .build();
+    }
+
+    static String normalize(String answer) {
+        if (answer == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(answer, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .trim();
+        return normalized.replaceAll("^[\\p{Punct}\\s]+|[\\p{Punct}\\s]+$", "");
+    }
+
+    private static Key key(Long questionId, String rubric, String answer) {
+        return new Key(questionId, sha256(rubric == null ? "" : rubric), sha256(normalize(answer)));
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
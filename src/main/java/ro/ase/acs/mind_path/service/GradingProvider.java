@@ -0,0 +1,20 @@
+package ro.ase.acs.mind_path.service;
+
+import java.util.List;
+
+public interface GradingProvider {
+
+    record GradeResult(float score, String feedback) {}
+
+    String getName();
+
+    /**
+     * Grades answers to one question against its rubric. The returned list is aligned with {@code answers};
+     * a {@code null} entry means this provider declined that answer and the next provider should grade it.
+     */
+    List<GradeResult> gradeBatch(String question, String rubric, List<String> answers);
+
+    default boolean isCacheable() {
+        return true;
+    }
+}
@@ -0,0 +1,163 @@
+package ro.ase.acs.mind_path.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ro.ase.acs.mind_path.dto.response.DeadGradingTaskDto;
+import ro.ase.acs.mind_path.dto.response.GradingQueueStatsDto;
+import ro.ase.acs.mind_path.entity.GradingTask;
+import ro.ase.acs.mind_path.entity.enums.GradingTaskStatus;
+import ro.ase.acs.mind_path.exception.BadRequestException;
+import ro.ase.acs.mind_path.repository.GradingTaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class GradingQueueService {
+
+    private final GradingTaskRepository gradingTaskRepository;
+
+    @Value("${grading.queue.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${grading.queue.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${grading.queue.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${grading.queue.backoff-max-seconds:1800}")
+    private long backoffMaxSeconds;
+
+    @Transactional
+    public void enqueue(Long attemptId) {
+        if (gradingTaskRepository.existsByAttemptId(attemptId)) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        gradingTaskRepository.save(GradingTask.builder()
+                .attemptId(attemptId)
+                .status(GradingTaskStatus.PENDING)
+                .attempts(0)
+                .availableAt(now)
+                .createdAt(now)
+                .build());
+    }
+
+    @Transactional
+    public List<GradingTask> claim(String owner, int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<GradingTask> claimed = new ArrayList<>();
+
+        for (GradingTask task : gradingTaskRepository.lockClaimable(now, batchSize)) {
+            if (task.getAttempts() >= maxAttempts) {
+                task.setStatus(GradingTaskStatus.DEAD);
+                task.setLeasedUntil(null);
+                task.setLeaseOwner(null);
+                if (task.getLastError() == null) {
+                    task.setLastError("Lease expired after " + task.getAttempts() + " attempts");
+                }
+                continue;
+            }
+
+            task.setStatus(GradingTaskStatus.IN_PROGRESS);
+            task.setAttempts(task.getAttempts() + 1);
+            task.setLeaseOwner(owner);
+            task.setLeasedUntil(now.plusSeconds(leaseSeconds));
+            claimed.add(task);
+        }
+
+        return claimed;
+    }
+
+    public int renew(Collection<Long> taskIds, String owner) {
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        return gradingTaskRepository.renewLeases(taskIds, owner, GradingTaskStatus.IN_PROGRESS,
+                LocalDateTime.now().plusSeconds(leaseSeconds));
+    }
+
+    @Transactional
+    public void complete(Long taskId, String owner) {
+        gradingTaskRepository.findById(taskId)
+                .filter(task -> isLeasedBy(task, owner))
+                .ifPresent(task -> {
+                    task.setStatus(GradingTaskStatus.DONE);
+                    task.setCompletedAt(LocalDateTime.now());
+                    task.setLeasedUntil(null);
+                    task.setLeaseOwner(null);
+                    task.setLastError(null);
+                });
+    }
+
+    @Transactional
+    public void fail(Long taskId, String owner, String error) {
+        gradingTaskRepository.findById(taskId)
+                .filter(task -> isLeasedBy(task, owner))
+                .ifPresent(task -> {
+                    task.setLastError(error);
+                    task.setLeasedUntil(null);
+                    task.setLeaseOwner(null);
+
+                    if (task.getAttempts() >= maxAttempts) {
+                        task.setStatus(GradingTaskStatus.DEAD);
+                        return;
+                    }
+
+                    long delay = Math.min(backoffMaxSeconds, backoffBaseSeconds << Math.min(task.getAttempts() - 1, 20));
+                    task.setStatus(GradingTaskStatus.PENDING);
+                    task.setAvailableAt(LocalDateTime.now().plusSeconds(delay));
+                });
+    }
+
+    @Transactional
+    public void retryDead(Long taskId) {
+        GradingTask task = gradingTaskRepository.findById(taskId)
+                .orElseThrow(() -> new BadRequestException("Grading task not found"));
+
+        if (task.getStatus() != GradingTaskStatus.DEAD) {
+            throw new BadRequestException("Only dead grading tasks can be retried");
+        }
+
+        task.setStatus(GradingTaskStatus.PENDING);
+        task.setAttempts(0);
+        task.setAvailableAt(LocalDateTime.now());
+    }
+
+    public List<DeadGradingTaskDto> getDeadTasks() {
+        return gradingTaskRepository.findByStatusOrderByAvailableAtAsc(GradingTaskStatus.DEAD).stream()
+                .map(task -> DeadGradingTaskDto.builder()
+                        .taskId(task.getTaskId())
+                        .attemptId(task.getAttemptId())
+                        .attempts(task.getAttempts())
+                        .lastError(task.getLastError())
+                        .createdAt(task.getCreatedAt())
+                        .availableAt(task.getAvailableAt())
+                        .build())
+                .toList();
+    }
+
+    public GradingQueueStatsDto getStats() {
+        LocalDateTime now = LocalDateTime.now();
+        return GradingQueueStatsDto.builder()
+                .pending(gradingTaskRepository.countByStatus(GradingTaskStatus.PENDING))
+                .inProgress(gradingTaskRepository.countByStatus(GradingTaskStatus.IN_PROGRESS))
+                .dead(gradingTaskRepository.countByStatus(GradingTaskStatus.DEAD))
+                .completedLastMinute(gradingTaskRepository.countByStatusAndCompletedAtAfter(
+                        GradingTaskStatus.DONE, now.minusMinutes(1)))
+                .completedLastHour(gradingTaskRepository.countByStatusAndCompletedAtAfter(
+                        GradingTaskStatus.DONE, now.minusHours(1)))
+                .build();
+    }
+
+    private boolean isLeasedBy(GradingTask task, String owner) {
+        return task.getStatus() == GradingTaskStatus.IN_PROGRESS && owner.equals(task.getLeaseOwner());
+    }
+}
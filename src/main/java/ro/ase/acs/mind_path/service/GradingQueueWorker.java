@@ -0,0 +1,107 @@
+package ro.ase.acs.mind_path.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ro.ase.acs.mind_path.entity.GradingTask;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@RequiredArgsConstructor
+public class GradingQueueWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradingQueueWorker.class);
+
+    private final GradingQueueService gradingQueueService;
+    private final AiGradingJob aiGradingJob;
+    private final Executor gradingExecutor;
+
+    private final String owner = UUID.randomUUID().toString();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Set<Long> leasedTaskIds = ConcurrentHashMap.newKeySet();
+
+    @Value("${grading.queue.batch-size:20}")
+    private int batchSize;
+
+    // Grading blocks on LLM calls, so the scheduler thread only hands the drain loop
+    // off to the grading executor and stays free for the other scheduled jobs.
+    @Scheduled(fixedDelayString = "${grading.queue.poll-interval-ms:5000}")
+    public void poll() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            gradingExecutor.execute(() -> {
+                try {
+                    drain();
+                } finally {
+                    draining.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            draining.set(false);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${grading.queue.lease-renewal-ms:60000}")
+    public void renewLeases() {
+        List<Long> taskIds = List.copyOf(leasedTaskIds);
+        if (taskIds.isEmpty()) {
+            return;
+        }
+
+        int renewed = gradingQueueService.renew(taskIds, owner);
+        if (renewed < taskIds.size()) {
+            logger.warn("Lost the lease on {} of {} grading tasks", taskIds.size() - renewed, taskIds.size());
+        }
+    }
+
+    void drain() {
+        List<GradingTask> tasks;
+        do {
+            tasks = gradingQueueService.claim(owner, batchSize);
+            if (!tasks.isEmpty()) {
+                List<Long> taskIds = tasks.stream().map(GradingTask::getTaskId).toList();
+                leasedTaskIds.addAll(taskIds);
+                try {
+                    process(tasks);
+                } finally {
+                    taskIds.forEach(leasedTaskIds::remove);
+                }
+            }
+        } while (tasks.size() == batchSize);
+    }
+
+    private void process(List<GradingTask> tasks) {
+        Set<Long> failedAttempts;
+        try {
+            failedAttempts = aiGradingJob.gradeAttempts(tasks.stream().map(GradingTask::getAttemptId).toList());
+        } catch (Exception e) {
+            logger.warn("Grading batch of {} tasks failed", tasks.size(), e);
+            for (GradingTask task : tasks) {
+                gradingQueueService.fail(task.getTaskId(), owner, String.valueOf(e.getMessage()));
+            }
+            return;
+        }
+
+        for (GradingTask task : tasks) {
+            if (failedAttempts.contains(task.getAttemptId())) {
+                logger.warn("Grading task {} for attempt {} failed (attempt {})",
+                        task.getTaskId(), task.getAttemptId(), task.getAttempts());
+                gradingQueueService.fail(task.getTaskId(), owner, "AI grading failed for one or more responses");
+            } else {
+                gradingQueueService.complete(task.getTaskId(), owner);
+            }
+        }
+    }
+}
@@ -3,31 +3,35 @@ package ro.ase.acs.mind_path.service;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import ro.ase.acs.mind_path.entity.Answer;
 import ro.ase.acs.mind_path.entity.Question;
 import ro.ase.acs.mind_path.entity.QuizAttempt;
 import ro.ase.acs.mind_path.entity.UserResponse;
 import ro.ase.acs.mind_path.entity.enums.AttemptStatus;
 import ro.ase.acs.mind_path.entity.enums.QuestionType;
-import ro.ase.acs.mind_path.repository.AnswerRepository;
 import ro.ase.acs.mind_path.repository.QuestionRepository;
 import ro.ase.acs.mind_path.repository.QuizAttemptRepository;
 import ro.ase.acs.mind_path.repository.UserResponseRepository;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class GradingService {
 
-    private final AnswerRepository answerRepository;
+    private final AnswerKeyCache answerKeyCache;
     private final QuestionRepository questionRepository;
     private final UserResponseRepository userResponseRepository;
     private final QuizAttemptRepository quizAttemptRepository;
+    private final DashboardAggregateService dashboardAggregateService;
+    private final AttemptResultSnapshotService attemptResultSnapshotService;
+    private final WeaknessRollupService weaknessRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    // REFACTOR
     public float grade(List<Question> questions, List<UserResponse> responses) {
         float totalCorrect = 0;
         float scoreMultipleChoiceQuestion;
@@ -35,11 +39,14 @@ public class GradingService {
         float numIncorrect;
         float numCorrectSelected;
         float numIncorrectSelected;
+        AnswerKeyCache.AnswerKey answerKey = null;
+
+        Map<Long, List<UserResponse>> responsesByQuestion = responses.stream()
+                .collect(Collectors.groupingBy(r -> r.getQuestion().getQuestionId()));
 
         for (Question question : questions) {
-            List<UserResponse> questionResponses = responses.stream()
-                    .filter(r -> r.getQuestion().getQuestionId().equals(question.getQuestionId()))
-                    .toList();
+            List<UserResponse> questionResponses =
+                    responsesByQuestion.getOrDefault(question.getQuestionId(), List.of());
 
             if (question.getType() == QuestionType.OPEN_ENDED) {
                 float s = 0f;
@@ -52,22 +59,17 @@ public class GradingService {
                 totalCorrect += s;
 
             } else if (question.getType() == QuestionType.MULTIPLE_CHOICE) {
+                if (answerKey == null) {
+                    answerKey = answerKeyCache.get(question.getQuiz().getQuizId());
+                }
+                long questionId = question.getQuestionId();
                 numCorrectSelected = 0;
                 numIncorrectSelected = 0;
+                numCorrect = answerKey.correctCount(questionId);
+                numIncorrect = answerKey.incorrectCount(questionId);
 
-                List<Long> correctAnswerIds = answerRepository.findByQuestionQuestionIdAndIsCorrect(
-                                question.getQuestionId(), true).stream()
-                        .map(Answer::getAnswerId)
-                        .toList();
-                numCorrect = correctAnswerIds.size();
-                numIncorrect = answerRepository.findByQuestionQuestionIdAndIsCorrect(
-                        question.getQuestionId(), false).stream().count();
-                List<Long> selectedAnswerIds = questionResponses.stream()
-                        .map(r -> r.getSelectedAnswer().getAnswerId())
-                        .toList();
-
-                for (Long selectedAnswer : selectedAnswerIds) {
-                    if (correctAnswerIds.contains(selectedAnswer)) {
+                for (UserResponse response : questionResponses) {
+                    if (answerKey.isCorrect(questionId, response.getSelectedAnswer().getAnswerId())) {
                         numCorrectSelected++;
                     } else {
                         numIncorrectSelected++;
@@ -88,18 +90,37 @@ public class GradingService {
         return (totalCorrect / questions.size()) * 100;
     }
 
+    @Transactional
+    public void applyAiGrades(Long attemptId, Map<Long, GradingProvider.GradeResult> grades) {
+        for (UserResponse response : userResponseRepository.findAllById(grades.keySet())) {
+            if (response.getTeacherScore() != null || response.getAiScore() != null) continue;
+            GradingProvider.GradeResult gradeResult = grades.get(response.getResponseId());
+
+            response.setAiScore(gradeResult.score());
+            response.setAiFeedback(gradeResult.feedback());
+            response.setIsCorrect(gradeResult.score() >= 0.5);
+        }
+        quizAttemptRepository.findById(attemptId).ifPresent(this::regradeAttempt);
+    }
+
     @Transactional
     public void regradeAttempt(QuizAttempt attempt) {
         List<Question> questions  = questionRepository.findByQuizQuizId(attempt.getQuiz().getQuizId());
         List<UserResponse> responses = userResponseRepository.findByQuizAttemptAttemptId(attempt.getAttemptId());
 
         float score = grade(questions, responses);
+        Float previousScore = attempt.getScore();
         attempt.setScore(score);
         attempt.setStatus(AttemptStatus.GRADED);
         attempt.setHasUngradedOpenEnded(
                 responses.stream().anyMatch(r -> r.getQuestion().getType() == QuestionType.OPEN_ENDED
                         && (r.getTeacherScore() == null || r.getAiScore() == null)));
         quizAttemptRepository.save(attempt);
+        dashboardAggregateService.recordScoreChange(attempt, previousScore);
+        weaknessRollupService.refresh(attempt);
+        eventPublisher.publishEvent(new AttemptGradedEvent(
+                attempt.getAttemptId(), attempt.getUser().getUserId(), attempt.getQuiz().getQuizId()));
+        attemptResultSnapshotService.store(attempt);
     }
 
 }
@@ -0,0 +1,188 @@
+package ro.ase.acs.mind_path.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class HeuristicGradingProvider implements GradingProvider {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "its",
+            "of", "on", "or", "that", "the", "this", "to", "was", "were", "which", "with");
+
+    // Words that flip the meaning of a sentence; "t" is what is left of "n't" after tokenizing.
+    private static final Set<String> POLARITY_WORDS = Set.of(
+            "not", "no", "never", "none", "nothing", "nobody", "neither", "nor", "cannot", "without",
+            "except", "false", "incorrect", "t", "always", "only");
+
+    @Value("${grading.heuristic.mode:prefilter}")
+    private String mode;
+
+    @Value("${grading.heuristic.verbatim-threshold:0.9}")
+    private double verbatimThreshold;
+
+    @Value("${grading.llm.client:openai}")
+    private String llmClient;
+
+    @Override
+    public String getName() {
+        return "heuristic";
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+
+    @Override
+    public List<GradeResult> gradeBatch(String question, String rubric, List<String> answers) {
+        List<String> rubricTokens = tokens(rubric);
+        Map<String, Double> rubricVector = termFrequencies(rubricTokens);
+        Set<String> keywords = new HashSet<>(rubricTokens);
+        boolean gradeAll = "full".equalsIgnoreCase(mode) || "none".equalsIgnoreCase(llmClient);
+
+        List<GradeResult> results = new ArrayList<>(answers.size());
+        for (String answer : answers) {
+            List<String> words = words(answer);
+            if (words.isEmpty()) {
+                results.add(new GradeResult(0f, "No answer was provided."));
+                continue;
+            }
+
+            // An answer made only of stop words ("It is.") has nothing to match against the rubric, so
+            // leave it to the next provider unless this one is the last to run.
+            List<String> tokens = withoutStopWords(words);
+            if (tokens.isEmpty()) {
+                results.add(gradeAll
+                        ? new GradeResult(0f, "The answer does not contain any of the expected key terms.")
+                        : null);
+                continue;
+            }
+
+            if (sequenceSimilarity(rubricTokens, tokens) >= verbatimThreshold
+                    && !differsInPolarity(rubricTokens, tokens)) {
+                results.add(new GradeResult(1f, "The answer matches the expected answer."));
+            } else if (gradeAll) {
+                Set<String> answerSet = new HashSet<>(tokens);
+                double cosine = cosine(rubricVector, termFrequencies(tokens));
+                double coverage = keywords.isEmpty() ? 0 : (double) intersection(keywords, answerSet) / keywords.size();
+                double overlap = 2.0 * intersection(keywords, answerSet) / (keywords.size() + answerSet.size());
+                float score = (float) Math.min(1.0, 0.4 * cosine + 0.4 * coverage + 0.2 * overlap);
+                results.add(new GradeResult(score,
+                        "The answer covers %d%% of the expected key terms.".formatted(Math.round(coverage * 100))));
+            } else {
+                results.add(null);
+            }
+        }
+        return results;
+    }
+
+    static List<String> tokens(String text) {
+        return withoutStopWords(words(text));
+    }
+
+    private static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> words = new ArrayList<>();
+        for (String word : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static List<String> withoutStopWords(List<String> words) {
+        return words.stream().filter(word -> !STOP_WORDS.contains(word)).toList();
+    }
+
+    /**
+     * Whether the tokens present in only one of the two sequences include a negation or other
+     * polarity word, which a small edit distance on a long rubric would otherwise let through.
+     */
+    static boolean differsInPolarity(List<String> expected, List<String> actual) {
+        Map<String, Integer> counts = new HashMap<>();
+        expected.forEach(token -> counts.merge(token, 1, Integer::sum));
+        actual.forEach(token -> counts.merge(token, -1, Integer::sum));
+        return counts.entrySet().stream()
+                .anyMatch(entry -> entry.getValue() != 0 && POLARITY_WORDS.contains(entry.getKey()));
+    }
+
+    /**
+     * One minus the token-level edit distance over the longer sequence, so a reordered or
+     * negated answer scores well below a verbatim one even when it uses the same words.
+     */
+    static double sequenceSimilarity(List<String> expected, List<String> actual) {
+        int longest = Math.max(expected.size(), actual.size());
+        if (longest == 0) {
+            return 0;
+        }
+
+        int[] previous = new int[actual.size() + 1];
+        int[] current = new int[actual.size() + 1];
+        for (int j = 0; j <= actual.size(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= expected.size(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= actual.size(); j++) {
+                int substitution = previous[j - 1] + (expected.get(i - 1).equals(actual.get(j - 1)) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return 1.0 - (double) previous[actual.size()] / longest;
+    }
+
+    private static Map<String, Double> termFrequencies(List<String> tokens) {
+        Map<String, Double> vector = new HashMap<>();
+        for (String token : tokens) {
+            vector.merge(token, 1.0, Double::sum);
+        }
+        return vector;
+    }
+
+    private static double cosine(Map<String, Double> a, Map<String, Double> b) {
+        double dot = 0;
+        for (Map.Entry<String, Double> entry : a.entrySet()) {
+            Double other = b.get(entry.getKey());
+            if (other != null) {
+                dot += entry.getValue() * other;
+            }
+        }
+        double norms = norm(a) * norm(b);
+        return norms == 0 ? 0 : dot / norms;
+    }
+
+    private static double norm(Map<String, Double> vector) {
+        double sum = 0;
+        for (double value : vector.values()) {
+            sum += value * value;
+        }
+        return Math.sqrt(sum);
+    }
+
+    private static int intersection(Set<String> a, Set<String> b) {
+        int count = 0;
+        for (String token : a) {
+            if (b.contains(token)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,295 @@
+package ro.ase.acs.mind_path.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ro.ase.acs.mind_path.dto.response.ItemAnalysisDto;
+import ro.ase.acs.mind_path.entity.Answer;
+import ro.ase.acs.mind_path.entity.Question;
+import ro.ase.acs.mind_path.entity.Quiz;
+import ro.ase.acs.mind_path.entity.enums.QuestionType;
+import ro.ase.acs.mind_path.exception.ForbiddenException;
+import ro.ase.acs.mind_path.exception.QuizNotFoundException;
+import ro.ase.acs.mind_path.repository.QuestionRepository;
+import ro.ase.acs.mind_path.repository.QuizRepository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@RequiredArgsConstructor
+public class ItemAnalysisService {
+
+    private static final String RESPONSES_SQL = """
+            select r.attempt_id, r.question_id, r.selected_answer, r.is_correct, r.response_time, a.score
+            from user_responses r
+            join quiz_attempts a on a.attempt_id = r.attempt_id
+            where a.quiz_id = ? and a.status in ('SUBMITTED', 'GRADED')
+            order by r.attempt_id, r.question_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QuizRepository quizRepository;
+    private final QuestionRepository questionRepository;
+
+    private final Map<Long, ItemAnalysisDto> cache = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Transactional(readOnly = true)
+    public ItemAnalysisDto getItemAnalysis(Long quizId, Long teacherId) {
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(QuizNotFoundException::new);
+
+        if (!quiz.getCreatedBy().getUserId().equals(teacherId)) {
+            throw new ForbiddenException("Only the teacher that created the quiz can view its item analysis");
+        }
+
+        ItemAnalysisDto cached = cache.get(quizId);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Compute outside the map so a slow scan does not block other quizzes hashed to the same bin;
+        // if an eviction raced with the scan, the result may be stale and is not kept.
+        long evictionsBefore = evictions.get();
+        ItemAnalysisDto computed = compute(quizId);
+        ItemAnalysisDto existing = cache.putIfAbsent(quizId, computed);
+        if (existing != null) {
+            return existing;
+        }
+        if (evictions.get() != evictionsBefore) {
+            cache.remove(quizId, computed);
+        }
+        return computed;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttemptGraded(AttemptGradedEvent event) {
+        evict(event.quizId());
+    }
+
+    public void invalidate(Long quizId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(quizId);
+                }
+            });
+        }
+        evict(quizId);
+    }
+
+    private void evict(Long quizId) {
+        evictions.incrementAndGet();
+        cache.remove(quizId);
+    }
+
+    private ItemAnalysisDto compute(Long quizId) {
+        List<Question> questions = questionRepository.findWithAnswersByQuizIdIn(List.of(quizId));
+        Accumulator accumulator = new Accumulator(questions);
+
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(RESPONSES_SQL);
+            statement.setFetchSize(1000);
+            statement.setLong(1, quizId);
+            return statement;
+        }, (RowCallbackHandler) accumulator::accept);
+        accumulator.finish();
+
+        List<ItemAnalysisDto.ItemStats> items = new ArrayList<>(questions.size());
+        for (int q = 0; q < questions.size(); q++) {
+            items.add(accumulator.toItemStats(q, questions.get(q)));
+        }
+        return new ItemAnalysisDto(quizId, accumulator.attempts, LocalDateTime.now(), items);
+    }
+
+    static final class Accumulator {
+        private final long[] questionIds;
+        private final long[][] answerIds;
+        private final long[][] correctAnswerIds;
+        private final boolean[] openEnded;
+
+        private final int[] responses;
+        private final int[] correct;
+        private final double[] scoreSum;
+        private final double[] scoreSquareSum;
+        private final double[] correctScoreSum;
+        private final long[] timeSum;
+        private final int[] timeCount;
+        private final int[][] selections;
+
+        int attempts;
+        private long currentAttempt = -1;
+        private int currentQuestion = -1;
+        private boolean currentGraded;
+        private boolean currentCorrect;
+        private int currentCorrectSelected;
+        private boolean currentIncorrectSelected;
+        private double currentScore;
+
+        Accumulator(List<Question> questions) {
+            int count = questions.size();
+            questionIds = new long[count];
+            answerIds = new long[count][];
+            correctAnswerIds = new long[count][];
+            openEnded = new boolean[count];
+            selections = new int[count][];
+            for (int q = 0; q < count; q++) {
+                Question question = questions.get(q);
+                questionIds[q] = question.getQuestionId();
+                answerIds[q] = question.getAnswers().stream()
+                        .mapToLong(Answer::getAnswerId)
+                        .sorted()
+                        .toArray();
+                correctAnswerIds[q] = question.getAnswers().stream()
+                        .filter(answer -> Boolean.TRUE.equals(answer.getIsCorrect()))
+                        .mapToLong(Answer::getAnswerId)
+                        .sorted()
+                        .toArray();
+                openEnded[q] = question.getType() == QuestionType.OPEN_ENDED;
+                selections[q] = new int[answerIds[q].length];
+            }
+            responses = new int[count];
+            correct = new int[count];
+            scoreSum = new double[count];
+            scoreSquareSum = new double[count];
+            correctScoreSum = new double[count];
+            timeSum = new long[count];
+            timeCount = new int[count];
+        }
+
+        private void accept(ResultSet rs) throws SQLException {
+            long attemptId = rs.getLong(1);
+            long questionId = rs.getLong(2);
+            long selected = rs.getLong(3);
+            Long selectedAnswerId = rs.wasNull() ? null : selected;
+            boolean isCorrect = rs.getBoolean(4);
+            Boolean correctFlag = rs.wasNull() ? null : isCorrect;
+            int time = rs.getInt(5);
+            Integer responseTime = rs.wasNull() ? null : time;
+            accept(attemptId, questionId, selectedAnswerId, correctFlag, responseTime, rs.getDouble(6));
+        }
+
+        void accept(long attemptId, long questionId, Long selectedAnswerId, Boolean isCorrect,
+                    Integer responseTime, double score) {
+            int q = Arrays.binarySearch(questionIds, questionId);
+            if (q < 0) {
+                return;
+            }
+
+            if (attemptId != currentAttempt || q != currentQuestion) {
+                finish();
+                if (attemptId != currentAttempt) {
+                    attempts++;
+                }
+                currentAttempt = attemptId;
+                currentQuestion = q;
+                currentGraded = true;
+                currentCorrect = true;
+                currentCorrectSelected = 0;
+                currentIncorrectSelected = false;
+                currentScore = score;
+            }
+
+            // Open-ended answers carry their grade in is_correct, which stays NULL until they are graded.
+            if (openEnded[q]) {
+                if (isCorrect == null) {
+                    currentGraded = false;
+                } else {
+                    currentCorrect &= isCorrect;
+                }
+            }
+
+            if (selectedAnswerId != null) {
+                int a = Arrays.binarySearch(answerIds[q], selectedAnswerId);
+                if (a >= 0) {
+                    selections[q][a]++;
+                }
+                if (Arrays.binarySearch(correctAnswerIds[q], selectedAnswerId) >= 0) {
+                    currentCorrectSelected++;
+                } else {
+                    currentIncorrectSelected = true;
+                }
+            }
+
+            if (responseTime != null) {
+                timeSum[q] += responseTime;
+                timeCount[q]++;
+            }
+        }
+
+        void finish() {
+            if (currentQuestion < 0) {
+                return;
+            }
+            int q = currentQuestion;
+            currentQuestion = -1;
+            if (!currentGraded) {
+                return;
+            }
+
+            // A choice question is answered correctly only when exactly the correct options were selected.
+            boolean answeredCorrectly = openEnded[q]
+                    ? currentCorrect
+                    : !currentIncorrectSelected && currentCorrectSelected == correctAnswerIds[q].length
+                            && currentCorrectSelected > 0;
+            responses[q]++;
+            scoreSum[q] += currentScore;
+            scoreSquareSum[q] += currentScore * currentScore;
+            if (answeredCorrectly) {
+                correct[q]++;
+                correctScoreSum[q] += currentScore;
+            }
+        }
+
+        ItemAnalysisDto.ItemStats toItemStats(int q, Question question) {
+            int n = responses[q];
+            Double pValue = n == 0 ? null : (double) correct[q] / n;
+            Double meanTime = timeCount[q] == 0 ? null : (double) timeSum[q] / timeCount[q];
+
+            int selectedTotal = 0;
+            for (int count : selections[q]) {
+                selectedTotal += count;
+            }
+            List<ItemAnalysisDto.AnswerStats> answers = new ArrayList<>(answerIds[q].length);
+            for (Answer answer : question.getAnswers()) {
+                int a = Arrays.binarySearch(answerIds[q], answer.getAnswerId());
+                int count = selections[q][a];
+                answers.add(new ItemAnalysisDto.AnswerStats(answer.getAnswerId(), answer.getAnswerText(),
+                        Boolean.TRUE.equals(answer.getIsCorrect()), count,
+                        selectedTotal == 0 ? 0 : (double) count / selectedTotal));
+            }
+
+            return new ItemAnalysisDto.ItemStats(question.getQuestionId(), question.getQuestionText(),
+                    question.getType(), question.getDifficulty(), n, pValue, pointBiserial(q), meanTime, answers);
+        }
+
+        private Double pointBiserial(int q) {
+            int n = responses[q];
+            int n1 = correct[q];
+            if (n < 2 || n1 == 0 || n1 == n) {
+                return null;
+            }
+            double mean = scoreSum[q] / n;
+            double variance = scoreSquareSum[q] / n - mean * mean;
+            if (variance <= 0) {
+                return null;
+            }
+            double meanCorrect = correctScoreSum[q] / n1;
+            double meanIncorrect = (scoreSum[q] - correctScoreSum[q]) / (n - n1);
+            double p = (double) n1 / n;
+            return (meanCorrect - meanIncorrect) / Math.sqrt(variance) * Math.sqrt(p * (1 - p));
+        }
+    }
+}
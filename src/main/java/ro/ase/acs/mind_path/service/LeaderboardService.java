@@ -0,0 +1,290 @@
+package ro.ase.acs.mind_path.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ro.ase.acs.mind_path.dto.response.LeaderboardDto;
+import ro.ase.acs.mind_path.entity.Quiz;
+import ro.ase.acs.mind_path.entity.QuizSession;
+import ro.ase.acs.mind_path.entity.enums.AttemptStatus;
+import ro.ase.acs.mind_path.exception.ForbiddenException;
+import ro.ase.acs.mind_path.exception.QuizAttemptException;
+import ro.ase.acs.mind_path.exception.QuizNotFoundException;
+import ro.ase.acs.mind_path.repository.QuizAttemptRepository;
+import ro.ase.acs.mind_path.repository.QuizRepository;
+import ro.ase.acs.mind_path.repository.QuizSessionRepository;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private static final List<AttemptStatus> RANKED_STATUSES = List.of(AttemptStatus.SUBMITTED, AttemptStatus.GRADED);
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::score).reversed()
+            .thenComparingInt(Entry::timeSec)
+            .thenComparingLong(Entry::studentId);
+    private static final AtomicLong VERSIONS = new AtomicLong(System.currentTimeMillis());
+
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final QuizRepository quizRepository;
+    private final QuizSessionRepository quizSessionRepository;
+
+    @Value("${leaderboard.top.default:10}")
+    private int defaultTop;
+
+    @Value("${leaderboard.top.max:100}")
+    private int maxTop;
+
+    private final Map<Long, Board> quizBoards = new ConcurrentHashMap<>();
+    private final Map<Long, Board> sessionBoards = new ConcurrentHashMap<>();
+    private final Queue<AttemptGradedEvent> pendingRefreshes = new ConcurrentLinkedQueue<>();
+    private volatile boolean ready;
+
+    private record Entry(long studentId, String firstName, String lastName, float score, int timeSec) {}
+
+    private static final class Board {
+        private final Long ownerId;
+        private final Map<Long, Entry> byStudent = new ConcurrentHashMap<>();
+        private volatile Entry[] ranked = new Entry[0];
+        private volatile long version;
+
+        private Board(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        private synchronized void put(Entry entry) {
+            Entry previous = byStudent.put(entry.studentId(), entry);
+            if (entry.equals(previous)) {
+                return;
+            }
+
+            List<Entry> next = new ArrayList<>(Arrays.asList(ranked));
+            if (previous != null) {
+                next.remove(Collections.binarySearch(next, previous, ORDER));
+            }
+            next.add(-Collections.binarySearch(next, entry, ORDER) - 1, entry);
+            ranked = next.toArray(Entry[]::new);
+            version = VERSIONS.incrementAndGet();
+        }
+
+        private synchronized void load(Collection<Entry> entries) {
+            entries.forEach(entry -> byStudent.put(entry.studentId(), entry));
+            Entry[] sorted = byStudent.values().toArray(Entry[]::new);
+            Arrays.sort(sorted, ORDER);
+            ranked = sorted;
+            version = VERSIONS.incrementAndGet();
+        }
+
+        private int rankOf(Entry[] snapshot, long studentId) {
+            Entry entry = byStudent.get(studentId);
+            int index = entry == null ? -1 : Arrays.binarySearch(snapshot, entry, ORDER);
+            if (index < 0) {
+                for (int i = 0; i < snapshot.length; i++) {
+                    if (snapshot[i].studentId() == studentId) {
+                        return i;
+                    }
+                }
+            }
+            return index;
+        }
+    }
+
+    public LeaderboardDto getQuizLeaderboard(Long quizId, Long teacherId, Integer top) {
+        Board board = quizBoards.get(quizId);
+        if (board == null) {
+            checkQuizOwner(quizId, teacherId);
+            return new LeaderboardDto(quizId, null, 0, 0, List.of());
+        }
+        checkBoardOwner(board, teacherId);
+        return toDto(board, quizId, null, top);
+    }
+
+    public LeaderboardDto getSessionLeaderboard(Long sessionId, Long teacherId, Integer top) {
+        Board board = sessionBoards.get(sessionId);
+        if (board == null) {
+            QuizSession session = checkSessionOwner(sessionId, teacherId);
+            return new LeaderboardDto(session.getQuiz().getQuizId(), sessionId, 0, 0, List.of());
+        }
+        checkBoardOwner(board, teacherId);
+        return toDto(board, null, sessionId, top);
+    }
+
+    public LeaderboardDto.Standing getQuizStanding(Long quizId, Long studentId, Long teacherId) {
+        Board board = quizBoards.get(quizId);
+        if (board == null) {
+            checkQuizOwner(quizId, teacherId);
+            throw new QuizAttemptException("Student has no ranked attempt for this quiz");
+        }
+        checkBoardOwner(board, teacherId);
+        return toStanding(board, studentId);
+    }
+
+    public LeaderboardDto.Standing getSessionStanding(Long sessionId, Long studentId, Long teacherId) {
+        Board board = sessionBoards.get(sessionId);
+        if (board == null) {
+            checkSessionOwner(sessionId, teacherId);
+            throw new QuizAttemptException("Student has no ranked attempt for this session");
+        }
+        checkBoardOwner(board, teacherId);
+        return toStanding(board, studentId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+        Map<Long, Map<Long, Entry>> quizEntries = new HashMap<>();
+        Map<Long, Map<Long, Entry>> sessionEntries = new HashMap<>();
+        Map<Long, Long> owners = new HashMap<>();
+        Map<Long, Long> sessionOwners = new HashMap<>();
+
+        try (Stream<QuizAttemptRepository.LeaderboardRow> rows =
+                     quizAttemptRepository.streamLeaderboardRows(RANKED_STATUSES)) {
+            rows.forEach(row -> {
+                Entry entry = toEntry(row);
+                owners.put(row.getQuizId(), row.getOwnerId());
+                quizEntries.computeIfAbsent(row.getQuizId(), k -> new HashMap<>())
+                        .merge(entry.studentId(), entry, LeaderboardService::best);
+                if (row.getSessionId() != null) {
+                    sessionOwners.put(row.getSessionId(), row.getOwnerId());
+                    sessionEntries.computeIfAbsent(row.getSessionId(), k -> new HashMap<>())
+                            .merge(entry.studentId(), entry, LeaderboardService::best);
+                }
+            });
+        }
+
+        quizEntries.forEach((quizId, entries) -> quizBoards
+                .computeIfAbsent(quizId, k -> new Board(owners.get(quizId))).load(entries.values()));
+        sessionEntries.forEach((sessionId, entries) -> sessionBoards
+                .computeIfAbsent(sessionId, k -> new Board(sessionOwners.get(sessionId))).load(entries.values()));
+        ready = true;
+        logger.info("Rebuilt {} quiz and {} session leaderboards in {} ms", quizEntries.size(),
+                sessionEntries.size(), (System.nanoTime() - startedAt) / 1_000_000);
+
+        drainPendingRefreshes();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttemptGraded(AttemptGradedEvent event) {
+        if (!ready) {
+            pendingRefreshes.add(event);
+            // rebuild() may have drained the queue between the check and the add, so look again.
+            if (ready) {
+                drainPendingRefreshes();
+            }
+            return;
+        }
+        refresh(event);
+    }
+
+    private void drainPendingRefreshes() {
+        AttemptGradedEvent event;
+        while ((event = pendingRefreshes.poll()) != null) {
+            refresh(event);
+        }
+    }
+
+    private void refresh(AttemptGradedEvent event) {
+        List<QuizAttemptRepository.LeaderboardRow> rows =
+                quizAttemptRepository.findLeaderboardRows(event.userId(), event.quizId(), RANKED_STATUSES);
+
+        Entry quizBest = null;
+        Map<Long, Entry> sessionBest = new HashMap<>();
+        for (QuizAttemptRepository.LeaderboardRow row : rows) {
+            Entry entry = toEntry(row);
+            quizBest = quizBest == null ? entry : best(quizBest, entry);
+            if (row.getSessionId() != null) {
+                sessionBest.merge(row.getSessionId(), entry, LeaderboardService::best);
+            }
+        }
+        if (quizBest == null) {
+            return;
+        }
+
+        Long ownerId = rows.getFirst().getOwnerId();
+        quizBoards.computeIfAbsent(event.quizId(), k -> new Board(ownerId)).put(quizBest);
+        sessionBest.forEach((sessionId, entry) ->
+                sessionBoards.computeIfAbsent(sessionId, k -> new Board(ownerId)).put(entry));
+    }
+
+    private LeaderboardDto toDto(Board board, Long quizId, Long sessionId, Integer top) {
+        long version = board.version;
+        Entry[] snapshot = board.ranked;
+        int limit = Math.min(snapshot.length, top == null || top <= 0 ? defaultTop : Math.min(top, maxTop));
+
+        List<LeaderboardDto.Standing> standings = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            standings.add(toStanding(snapshot[i], i + 1));
+        }
+        return new LeaderboardDto(quizId, sessionId, version, snapshot.length, standings);
+    }
+
+    private LeaderboardDto.Standing toStanding(Board board, Long studentId) {
+        Entry[] snapshot = board.ranked;
+        int index = board.rankOf(snapshot, studentId);
+        if (index < 0) {
+            throw new QuizAttemptException("Student has no ranked attempt on this leaderboard");
+        }
+        return toStanding(snapshot[index], index + 1);
+    }
+
+    private static LeaderboardDto.Standing toStanding(Entry entry, int rank) {
+        return new LeaderboardDto.Standing(rank, entry.studentId(), entry.firstName(), entry.lastName(),
+                entry.score(), entry.timeSec());
+    }
+
+    private static Entry toEntry(QuizAttemptRepository.LeaderboardRow row) {
+        int timeSec;
+        if (row.getAttemptTime() != null) {
+            timeSec = row.getAttemptTime();
+        } else if (row.getCompletedAt() != null) {
+            timeSec = (int) Duration.between(row.getStartedAt(), row.getCompletedAt()).toSeconds();
+        } else {
+            timeSec = Integer.MAX_VALUE;
+        }
+        return new Entry(row.getStudentId(), row.getFirstName(), row.getLastName(),
+                row.getScore() == null ? 0f : row.getScore(), timeSec);
+    }
+
+    private static Entry best(Entry a, Entry b) {
+        return ORDER.compare(a, b) <= 0 ? a : b;
+    }
+
+    private void checkBoardOwner(Board board, Long teacherId) {
+        if (!board.ownerId.equals(teacherId)) {
+            throw new ForbiddenException("Only the teacher that created the quiz can view its leaderboard");
+        }
+    }
+
+    private void checkQuizOwner(Long quizId, Long teacherId) {
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(QuizNotFoundException::new);
+        if (!quiz.getCreatedBy().getUserId().equals(teacherId)) {
+            throw new ForbiddenException("Only the teacher that created the quiz can view its leaderboard");
+        }
+    }
+
+    private QuizSession checkSessionOwner(Long sessionId, Long teacherId) {
+        QuizSession session = quizSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new QuizAttemptException("Session not found"));
+        if (!session.getQuiz().getCreatedBy().getUserId().equals(teacherId)) {
+            throw new ForbiddenException("Only the teacher that created the quiz can view its leaderboard");
+        }
+        return session;
+    }
+}
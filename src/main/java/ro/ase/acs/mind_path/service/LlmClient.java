@@ -0,0 +1,12 @@
+package ro.ase.acs.mind_path.service;
+
+public interface LlmClient {
+
+    String complete(String systemPrompt, String userPrompt);
+
+    class TruncatedCompletionException extends IllegalStateException {
+        public TruncatedCompletionException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ro.ase.acs.mind_path.service;
+
+import com.openai.client.OpenAIClient;
+import com.openai.models.ChatModel;
+import com.openai.models.ResponseFormatJsonObject;
+import com.openai.models.chat.completions.ChatCompletion;
+import com.openai.models.chat.completions.ChatCompletionCreateParams;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "grading.llm.client", havingValue = "openai", matchIfMissing = true)
+public class OpenAiLlmClient implements LlmClient {
+
+    private final OpenAIClient openAi;
+    private static final Logger logger = LoggerFactory.getLogger(OpenAiLlmClient.class);
+
+    @Override
+    public String complete(String systemPrompt, String userPrompt) {
+        ChatCompletionCreateParams createParams = ChatCompletionCreateParams.builder()
+                .model(ChatModel.GPT_4O_MINI)
+                .addSystemMessage(systemPrompt)
+                .addUserMessage(userPrompt)
+                .responseFormat(ChatCompletionCreateParams.ResponseFormat.ofJsonObject(
+                        ResponseFormatJsonObject.builder().build()))
+                .temperature(0.0)
+                .build();
+
+        ChatCompletion res = openAi.chat().completions().create(createParams);
+        ChatCompletion.Choice choice = res.choices().getFirst();
+        if (ChatCompletion.Choice.FinishReason.LENGTH.equals(choice.finishReason())) {
+            throw new TruncatedCompletionException("OpenAI response was truncated");
+        }
+
+        String json = choice.message().content()
+                .orElseThrow(() -> new IllegalStateException("OpenAI returned no content"));
+        logger.info("raw content OpenAI = {}", json);
+        return json;
+    }
+}
@@ -8,7 +8,6 @@ import ro.ase.acs.mind_path.dto.request.QuestionUpdateDto;
 import ro.ase.acs.mind_path.dto.response.QuestionSummaryDto;
 import ro.ase.acs.mind_path.entity.Question;
 import ro.ase.acs.mind_path.entity.Quiz;
-import ro.ase.acs.mind_path.entity.User;
 import ro.ase.acs.mind_path.entity.enums.QuestionDifficulty;
 import ro.ase.acs.mind_path.entity.enums.QuestionType;
 import ro.ase.acs.mind_path.entity.enums.QuizStatus;
@@ -28,12 +27,15 @@ public class QuestionService {
     private final QuestionSummaryMapper questionSummaryMapper;
     private final QuestionRepository questionRepository;
     private final QuizRepository quizRepository;
+    private final QuizRevisions quizRevisions;
+    private final GradeResultCache gradeResultCache;
+    private final ItemAnalysisService itemAnalysisService;
 
-    public Long addQuestionToQuiz(Long quizId, QuestionCreationDto dto, User user) {
+    public Long addQuestionToQuiz(Long quizId, QuestionCreationDto dto, Long userId) {
         Quiz quiz = quizRepository.findById(quizId)
                 .orElseThrow(QuizNotFoundException::new);
 
-        if (!quiz.getCreatedBy().getUserId().equals(user.getUserId())) {
+        if (!quiz.getCreatedBy().getUserId().equals(userId)) {
             throw new ForbiddenException("Only the teacher that created the quiz can add questions");
         }
 
@@ -58,6 +60,8 @@ public class QuestionService {
 
         quiz.getQuestions().add(question);
         questionRepository.save(question);
+        quizRevisions.bump(quiz.getQuizId());
+        itemAnalysisService.invalidate(quiz.getQuizId());
         return question.getQuestionId();
     }
 
@@ -71,13 +75,13 @@ public class QuestionService {
                 .toList();
     }
 
-    public void updateQuestion(Long id, QuestionUpdateDto dto, User user) {
+    public void updateQuestion(Long id, QuestionUpdateDto dto, Long userId) {
         Question question = questionRepository.findById(id)
                 .orElseThrow(QuestionNotFoundException::new);
 
         Quiz quiz = question.getQuiz();
 
-        if (!quiz.getCreatedBy().getUserId().equals(user.getUserId())) {
+        if (!quiz.getCreatedBy().getUserId().equals(userId)) {
             throw new ForbiddenException("Only the teacher that created the quiz can edit questions");
         }
 
@@ -107,18 +111,24 @@ public class QuestionService {
         }
 
         questionRepository.save(question);
+        quizRevisions.bump(quiz.getQuizId());
+        itemAnalysisService.invalidate(quiz.getQuizId());
+        gradeResultCache.invalidateQuestion(question.getQuestionId());
     }
 
-    public void deleteQuestion(Long id, User user) {
+    public void deleteQuestion(Long id, Long userId) {
         Question question = questionRepository.findById(id)
                 .orElseThrow(QuestionNotFoundException::new);
 
         Quiz quiz = question.getQuiz();
 
-        if (!quiz.getCreatedBy().getUserId().equals(user.getUserId())) {
+        if (!quiz.getCreatedBy().getUserId().equals(userId)) {
             throw new ForbiddenException("Only the teacher that created the quiz can delete questions");
         }
 
         questionRepository.delete(question);
+        quizRevisions.bump(quiz.getQuizId());
+        itemAnalysisService.invalidate(quiz.getQuizId());
+        gradeResultCache.invalidateQuestion(question.getQuestionId());
     }
 }
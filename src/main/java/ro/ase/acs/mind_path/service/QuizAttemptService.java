@@ -2,6 +2,8 @@ package ro.ase.acs.mind_path.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +22,7 @@ import ro.ase.acs.mind_path.repository.*;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.BiConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,15 +34,26 @@ public class QuizAttemptService {
 
     private final QuizRepository quizRepository;
     private final UserRepository userRepository;
-    private final QuestionRepository questionRepository;
-    private final AnswerRepository answerRepository;
     private final QuizAttemptRepository quizAttemptRepository;
-    private final UserResponseRepository userResponseRepository;
     private final QuizSessionRepository quizSessionRepository;
     private final QuizSessionService quizSessionService;
     private final AttemptMapper attemptMapper;
+    private final AttemptAggregateLoader attemptAggregateLoader;
+    private final UserResponseWriter userResponseWriter;
+    private final AnswerWriteBuffer answerWriteBuffer;
+    private final AnswerKeyCache answerKeyCache;
+    private final QuizContentCache quizContentCache;
     private final GradingService gradingService;
-    private final AiGradingJob aiGradingJob;
+    private final GradingQueueService gradingQueueService;
+    private final AdvisoryLock advisoryLock;
+    private final DashboardAggregateService dashboardAggregateService;
+    private final AttemptResultSnapshotService attemptResultSnapshotService;
+    private final WeaknessRollupService weaknessRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SessionEventBus sessionEventBus;
+
+    @Value("${attempts.batch.max-answers:200}")
+    private int maxBatchAnswers;
 
     public AttemptResponseDto startAttempt(Long userId, StartAttemptRequest request) {
         User user = userRepository.findById(userId)
@@ -94,9 +108,7 @@ public class QuizAttemptService {
 
                 if (attempt.getQuizSession().getStatus() == SessionStatus.EXPIRED ||
                         attempt.getQuizSession().getEndTime().isBefore(now)) {
-                    attempt.setStatus(AttemptStatus.ABANDONED);
-                    quizAttemptRepository.save(attempt);
-
+                    abandon(attempt, now);
                 } else {
                     return buildAttemptResponse(attempt);
                 }
@@ -118,6 +130,11 @@ public class QuizAttemptService {
         }
 
         QuizAttempt savedAttempt = quizAttemptRepository.save(attempt);
+        dashboardAggregateService.recordStarted(savedAttempt);
+        if (session != null) {
+            sessionEventBus.publish(SessionEventDto.of(SessionEventDto.Type.ATTEMPT_STARTED,
+                    session.getSessionId(), savedAttempt.getAttemptId(), userId));
+        }
         return buildAttemptResponse(savedAttempt);
     }
 
@@ -140,8 +157,7 @@ public class QuizAttemptService {
 
             LocalDateTime now = LocalDateTime.now();
             if (session.getStatus() != SessionStatus.ACTIVE || session.getEndTime().isBefore(now)) {
-                attempt.setStatus(AttemptStatus.ABANDONED);
-                quizAttemptRepository.save(attempt);
+                abandon(attempt, now);
                 return false;
             }
         }
@@ -149,8 +165,149 @@ public class QuizAttemptService {
         return true;
     }
 
-    @Transactional
+    // The transition only applies while the attempt is still IN_PROGRESS, so whichever of submit,
+    // this check or the abandon sweep wins is the only one that records the finished attempt.
+    private void abandon(QuizAttempt attempt, LocalDateTime now) {
+        if (quizAttemptRepository.finishInProgress(attempt.getAttemptId(), AttemptStatus.ABANDONED, now) != 1) {
+            return;
+        }
+        attempt.setStatus(AttemptStatus.ABANDONED);
+        attempt.setCompletedAt(now);
+        dashboardAggregateService.recordFinished(attempt);
+        // No weakness rollup refresh: abandoned attempts are excluded from the rollups.
+    }
+
     public SubmitAnswerResponse submitAnswer(Long attemptId, Long userId, SubmitAnswerRequest request) {
+        if (answerWriteBuffer.isEnabled()) {
+            SubmitAnswerResponse buffered = bufferAnswer(attemptId, userId, request);
+            if (buffered != null) {
+                return buffered;
+            }
+        }
+
+        QuizAttempt attempt = findOpenAttempt(attemptId, userId);
+        ValidatedAnswer answer = validateAnswer(answerKeyCache.get(attempt.getQuiz().getQuizId()), request);
+        userResponseWriter.replaceResponses(attemptId, List.of(answer.questionId()), answer.rows());
+        publishAnswer(sessionIdOf(attempt), attemptId, userId, answer);
+
+        return new SubmitAnswerResponse(answer.isCorrect());
+    }
+
+    private SubmitAnswerResponse bufferAnswer(Long attemptId, Long userId, SubmitAnswerRequest request) {
+        AnswerWriteBuffer.OpenAttempt openAttempt = answerWriteBuffer.openAttempt(attemptId);
+
+        if (openAttempt == null || !openAttempt.userId().equals(userId) || openAttempt.isExpired(LocalDateTime.now())) {
+            QuizAttempt attempt = findOpenAttempt(attemptId, userId);
+            QuizSession session = attempt.getQuizSession();
+            openAttempt = new AnswerWriteBuffer.OpenAttempt(attemptId, userId, attempt.getQuiz().getQuizId(),
+                    session != null ? session.getEndTime() : null, sessionIdOf(attempt));
+
+            if (!answerWriteBuffer.register(openAttempt)) {
+                return null;
+            }
+        }
+
+        ValidatedAnswer answer = validateAnswer(answerKeyCache.get(openAttempt.quizId()), request);
+        AnswerWriteBuffer.OfferResult offered = answerWriteBuffer.offer(attemptId, request);
+        if (offered == AnswerWriteBuffer.OfferResult.CLOSED) {
+            throw new QuizAttemptException("Attempt is no longer in progress");
+        }
+        if (offered == AnswerWriteBuffer.OfferResult.REJECTED) {
+            return null;
+        }
+        publishAnswer(openAttempt.sessionId(), attemptId, userId, answer);
+
+        return new SubmitAnswerResponse(answer.isCorrect());
+    }
+
+    public List<SubmitAnswerResponse> submitAnswers(Long attemptId, Long userId, List<SubmitAnswerRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new QuizAttemptException("No answers submitted");
+        }
+        if (requests.size() > maxBatchAnswers) {
+            throw new QuizAttemptException("At most " + maxBatchAnswers + " answers can be submitted at once");
+        }
+
+        QuizAttempt attempt = findOpenAttempt(attemptId, userId);
+        AnswerKeyCache.AnswerKey answerKey = answerKeyCache.get(attempt.getQuiz().getQuizId());
+        if (requests.size() > answerKey.questionCount()) {
+            throw new QuizAttemptException("More answers submitted than the quiz has questions");
+        }
+        Set<Long> questionIds = new HashSet<>();
+        for (SubmitAnswerRequest request : requests) {
+            if (!questionIds.add(request.getQuestionId())) {
+                throw new QuizAttemptException("Question " + request.getQuestionId() + " is answered more than once");
+            }
+        }
+        flushBufferedAnswers(attemptId);
+
+        Map<Long, List<UserResponseWriter.ResponseRow>> rowsByQuestion = new LinkedHashMap<>();
+        List<ValidatedAnswer> answers = new ArrayList<>(requests.size());
+        List<SubmitAnswerResponse> results = new ArrayList<>(requests.size());
+
+        for (SubmitAnswerRequest request : requests) {
+            ValidatedAnswer answer = validateAnswer(answerKey, request);
+            rowsByQuestion.put(answer.questionId(), answer.rows());
+            answers.add(answer);
+            results.add(new SubmitAnswerResponse(answer.isCorrect()));
+        }
+
+        userResponseWriter.replaceResponses(attemptId, rowsByQuestion.keySet(), flatten(rowsByQuestion));
+        answers.forEach(answer -> publishAnswer(sessionIdOf(attempt), attemptId, userId, answer));
+
+        return results;
+    }
+
+    @Scheduled(fixedDelayString = "${attempts.write-behind.flush-interval-ms:2000}")
+    public void flushAllBufferedAnswers() {
+        if (!answerWriteBuffer.isEnabled()) {
+            return;
+        }
+
+        for (Long attemptId : answerWriteBuffer.bufferedAttemptIds()) {
+            try {
+                flushBufferedAnswers(attemptId);
+            } catch (RuntimeException e) {
+                logger.error("Failed to flush buffered answers for attempt {}", attemptId, e);
+            }
+        }
+
+        answerWriteBuffer.evictIdle(LocalDateTime.now());
+        answerWriteBuffer.compactJournal();
+    }
+
+    private void flushBufferedAnswers(Long attemptId) {
+        answerWriteBuffer.flush(attemptId, bufferedAnswerWriter(attemptId));
+    }
+
+    private BiConsumer<AnswerWriteBuffer.OpenAttempt, List<AnswerWriteBuffer.PendingAnswer>> bufferedAnswerWriter(
+            Long attemptId) {
+        return (openAttempt, pending) -> {
+            if (!quizAttemptRepository.existsByAttemptIdAndStatus(attemptId, AttemptStatus.IN_PROGRESS)) {
+                logger.warn("Dropping {} buffered answers of attempt {} that is no longer in progress",
+                        pending.size(), attemptId);
+                answerWriteBuffer.discard(attemptId);
+                return;
+            }
+
+            AnswerKeyCache.AnswerKey answerKey = answerKeyCache.get(openAttempt.quizId());
+            Map<Long, List<UserResponseWriter.ResponseRow>> rowsByQuestion = new LinkedHashMap<>();
+
+            for (AnswerWriteBuffer.PendingAnswer pendingAnswer : pending) {
+                try {
+                    ValidatedAnswer answer = validateAnswer(answerKey, pendingAnswer.request());
+                    rowsByQuestion.put(answer.questionId(), answer.rows());
+                } catch (QuizAttemptException e) {
+                    logger.warn("Dropping buffered answer for attempt {} question {}: {}",
+                            attemptId, pendingAnswer.request().getQuestionId(), e.getMessage());
+                }
+            }
+
+            userResponseWriter.replaceResponses(attemptId, rowsByQuestion.keySet(), flatten(rowsByQuestion));
+        };
+    }
+
+    private QuizAttempt findOpenAttempt(Long attemptId, Long userId) {
         QuizAttempt attempt = quizAttemptRepository.findByAttemptIdAndUserUserId(attemptId, userId)
                 .orElseThrow(() -> new QuizAttemptException("Attempt not found or not accessible"));
 
@@ -162,49 +319,48 @@ public class QuizAttemptService {
             throw new QuizAttemptException("Attempt is no longer in progress");
         }
 
-        Question question = questionRepository.findById(request.getQuestionId())
-                .orElseThrow(() -> new QuizAttemptException("Question not found"));
+        return attempt;
+    }
+
+    private void publishAnswer(Long sessionId, Long attemptId, Long userId, ValidatedAnswer answer) {
+        sessionEventBus.publish(new SessionEventDto(SessionEventDto.Type.ANSWER_SUBMITTED, sessionId, attemptId,
+                userId, answer.questionId(), answer.isCorrect(), null, LocalDateTime.now()));
+    }
+
+    private static Long sessionIdOf(QuizAttempt attempt) {
+        return attempt.getQuizSession() != null ? attempt.getQuizSession().getSessionId() : null;
+    }
+
+    private record ValidatedAnswer(Long questionId, List<UserResponseWriter.ResponseRow> rows, boolean isCorrect) {}
+
+    private ValidatedAnswer validateAnswer(AnswerKeyCache.AnswerKey answerKey, SubmitAnswerRequest request) {
+        Long questionId = request.getQuestionId();
 
-        if (!question.getQuiz().getQuizId().equals(attempt.getQuiz().getQuizId())) {
+        if (questionId == null || !answerKey.hasQuestion(questionId)) {
             throw new QuizAttemptException("Question does not belong to this quiz");
         }
 
-        userResponseRepository.deleteByQuizAttemptAttemptIdAndQuestionQuestionId(attemptId, question.getQuestionId());
+        QuestionType type = answerKey.type(questionId);
 
-        if (question.getType() == QuestionType.OPEN_ENDED) {
+        if (type == QuestionType.OPEN_ENDED) {
             if (request.getTextResponse() == null || request.getTextResponse().trim().isEmpty()) {
                 throw new QuizAttemptException("Text response is required for open-ended questions");
             }
 
-            Answer exampleAnswer = answerRepository.findByQuestionQuestionIdAndIsCorrect(
-                            question.getQuestionId(), true)
-                    .stream()
-                    .findFirst()
-                    .orElseThrow(() -> new QuizAttemptException("No example answer found for this question"));
-
-            UserResponse response = UserResponse.builder()
-                    .quizAttempt(attempt)
-                    .question(question)
-                    .selectedAnswer(exampleAnswer)
-                    .openEndedAnswer(request.getTextResponse())
-                    .responseTime(request.getResponseTime())
-                    .isCorrect(false)
-                    .build();
+            Long exampleAnswerId = answerKey.exampleAnswerId(questionId);
+            if (exampleAnswerId == null) {
+                throw new QuizAttemptException("No example answer found for this question");
+            }
 
-            userResponseRepository.save(response);
-            return new SubmitAnswerResponse(false);
+            return new ValidatedAnswer(questionId, List.of(new UserResponseWriter.ResponseRow(
+                    questionId, exampleAnswerId, request.getTextResponse(), request.getResponseTime(), false)), false);
         }
 
         boolean isMultipleChoice = request.getIsMultipleChoice() != null &&
                 request.getIsMultipleChoice() &&
-                question.getType() == QuestionType.MULTIPLE_CHOICE;
+                type == QuestionType.MULTIPLE_CHOICE;
 
         List<Long> selectedAnswerIds = request.getSelectedAnswerIds();
-        List<Long> correctAnswerIds = answerRepository
-                .findByQuestionQuestionIdAndIsCorrect(request.getQuestionId(), true)
-                .stream().map(Answer::getAnswerId).toList();
-        boolean isCorrect = new HashSet<>(selectedAnswerIds).equals(
-                new HashSet<>(correctAnswerIds));
 
         if (selectedAnswerIds == null || selectedAnswerIds.isEmpty()) {
             throw new QuizAttemptException("No answers submitted for this question");
@@ -214,42 +370,53 @@ public class QuizAttemptService {
             throw new QuizAttemptException("Single choice question must have only one selected answer");
         }
 
-        for (Long answerId : selectedAnswerIds) {
-            Answer answer = answerRepository.findById(answerId)
-                    .orElseThrow(() -> new QuizAttemptException("Answer not found"));
+        List<UserResponseWriter.ResponseRow> rows = new ArrayList<>(selectedAnswerIds.size());
+        Set<Long> distinctSelected = new HashSet<>();
+        boolean allSelectedCorrect = true;
 
-            if (!answer.getQuestion().getQuestionId().equals(question.getQuestionId())) {
+        for (Long answerId : selectedAnswerIds) {
+            if (answerId == null || !answerKey.hasAnswer(questionId, answerId)) {
                 throw new QuizAttemptException("Answer does not belong to this question");
             }
 
-            UserResponse response = UserResponse.builder()
-                    .quizAttempt(attempt)
-                    .question(question)
-                    .selectedAnswer(answer)
-                    .responseTime(request.getResponseTime())
-                    .isCorrect(answer.getIsCorrect())
-                    .build();
-
-            userResponseRepository.save(response);
+            boolean isCorrect = answerKey.isCorrect(questionId, answerId);
+            allSelectedCorrect &= isCorrect;
+            distinctSelected.add(answerId);
+            rows.add(new UserResponseWriter.ResponseRow(questionId, answerId, null, request.getResponseTime(), isCorrect));
         }
 
-        return new SubmitAnswerResponse(isCorrect);
+        boolean isCorrectSelection = allSelectedCorrect && distinctSelected.size() == answerKey.correctCount(questionId);
+        return new ValidatedAnswer(questionId, rows, isCorrectSelection);
+    }
+
+    private static List<UserResponseWriter.ResponseRow> flatten(Map<Long, List<UserResponseWriter.ResponseRow>> rowsByQuestion) {
+        return rowsByQuestion.values()
+                .stream()
+                .flatMap(List::stream)
+                .toList();
     }
 
+    @Transactional(readOnly = true)
     public AttemptResultDto getAttemptResults(Long attemptId) {
-        QuizAttempt attempt = quizAttemptRepository.findById(attemptId)
+        QuizAttempt attempt = quizAttemptRepository.findReadOnlyById(attemptId)
                 .orElseThrow(() -> new QuizAttemptException("Attempt not found or not accessible"));
 
         if (attempt.getStatus() != AttemptStatus.SUBMITTED && attempt.getStatus() != AttemptStatus.GRADED) {
             throw new QuizAttemptException("Attempt results are not available. The quiz must be submitted first.");
         }
 
-        attempt.setStatus(AttemptStatus.GRADED);
-        quizAttemptRepository.save(attempt);
+        if (attempt.getStatus() == AttemptStatus.GRADED) {
+            Optional<AttemptResultDto> snapshot = attemptResultSnapshotService.find(attemptId);
+            if (snapshot.isPresent()) {
+                return snapshot.get();
+            }
+        }
 
-        return attemptMapper.toResultDto(attempt);
+        AttemptAggregateLoader.AttemptAggregate aggregate = attemptAggregateLoader.load(attempt);
+        return attemptMapper.toResultDto(attempt, aggregate.questions(), aggregate.responses());
     }
 
+    @Transactional(noRollbackFor = QuizAttemptException.class)
     public AttemptResponseDto submitAttempt(Long attemptId, Long userId, SubmitAttemptRequest request) {
         QuizAttempt attempt = quizAttemptRepository.findByAttemptIdAndUserUserId(attemptId, userId)
                 .orElseThrow(() -> new QuizAttemptException("Attempt not found or not accessible"));
@@ -262,81 +429,92 @@ public class QuizAttemptService {
             throw new QuizAttemptException("Attempt is no longer in progress");
         }
 
-        List<UserResponse> responses = userResponseRepository.findByQuizAttemptAttemptId(attemptId);
-        List<Question> questions = questionRepository.findByQuizQuizId(attempt.getQuiz().getQuizId());
+        answerWriteBuffer.closeAndFlush(attemptId, bufferedAnswerWriter(attemptId));
+        AttemptAggregateLoader.AttemptAggregate aggregate = attemptAggregateLoader.load(attempt);
 
-        float score = gradingService.grade(questions, responses);
+        float score = gradingService.grade(aggregate.questions(), aggregate.responses());
+        boolean hasOpenEnded = aggregate.responses().stream()
+                .anyMatch(r -> r.getQuestion().getType() == QuestionType.OPEN_ENDED);
+
+        AttemptStatus status = hasOpenEnded ? AttemptStatus.SUBMITTED : AttemptStatus.GRADED;
+        LocalDateTime completedAt = LocalDateTime.now();
+        if (quizAttemptRepository.submitInProgress(attemptId, status, completedAt, request.getTotalTime(), score) != 1) {
+            throw new QuizAttemptException("Attempt is no longer in progress");
+        }
 
-        attempt.setStatus(AttemptStatus.SUBMITTED);
-        attempt.setCompletedAt(LocalDateTime.now());
+        attempt.setStatus(status);
+        attempt.setCompletedAt(completedAt);
         attempt.setAttemptTime(request.getTotalTime());
         attempt.setScore(score);
 
-        QuizAttempt savedAttempt = quizAttemptRepository.save(attempt);
-        aiGradingJob.gradeAttempt(savedAttempt.getAttemptId());
-        return buildAttemptResponse(savedAttempt);
+        dashboardAggregateService.recordFinished(attempt);
+        weaknessRollupService.refresh(attempt);
+        eventPublisher.publishEvent(new AttemptGradedEvent(
+                attempt.getAttemptId(), userId, attempt.getQuiz().getQuizId()));
+        sessionEventBus.publish(new SessionEventDto(SessionEventDto.Type.ATTEMPT_SUBMITTED,
+                sessionIdOf(attempt), attemptId, userId, null, null, score, LocalDateTime.now()));
+
+        if (hasOpenEnded) {
+            gradingQueueService.enqueue(attempt.getAttemptId());
+        } else {
+            attemptResultSnapshotService.store(attempt, aggregate.questions(), aggregate.responses());
+        }
+        return attemptMapper.toDtoWithContent(attempt,
+                quizContentCache.get(attempt.getQuiz().getQuizId(), aggregate.questions()),
+                aggregate.responses());
     }
 
     @Scheduled(fixedRate = 300000)
+    @Transactional
     public void updateAbandonedAttempts() {
-        LocalDateTime now = LocalDateTime.now();
-
-        List<QuizAttempt> inProgressAttempts = quizAttemptRepository.findByStatus(AttemptStatus.IN_PROGRESS);
-
-        int updatedCount = 0;
-
-        for (QuizAttempt attempt : inProgressAttempts) {
-            if (attempt.getQuizSession() != null) {
-                QuizSession session = attempt.getQuizSession();
-
-                if (session.getStatus() == SessionStatus.EXPIRED || session.getEndTime().isBefore(now)) {
-                    attempt.setStatus(AttemptStatus.ABANDONED);
-                    quizAttemptRepository.save(attempt);
-                    updatedCount++;
-                }
-            }
+        if (!advisoryLock.tryLockForTransaction(AdvisoryLock.ATTEMPT_ABANDON_SWEEP)) {
+            return;
         }
 
+        int updatedCount = quizAttemptRepository.abandonAttemptsOfExpiredSessions(LocalDateTime.now());
+
         if (updatedCount > 0) {
             logger.info("Updated {} quiz attempts to ABANDONED due to expired sessions", updatedCount);
         }
     }
 
     private AttemptResponseDto buildAttemptResponse(QuizAttempt attempt) {
-        List<Question> questions = questionRepository.findByQuizQuizId(attempt.getQuiz().getQuizId());
-        List<UserResponse> responses = userResponseRepository.findByQuizAttemptAttemptId(attempt.getAttemptId());
+        flushBufferedAnswers(attempt.getAttemptId());
+        return attemptMapper.toDtoWithContent(attempt,
+                quizContentCache.get(attempt.getQuiz().getQuizId()),
+                attemptAggregateLoader.loadResponses(attempt));
+    }
 
-        return attemptMapper.toDto(attempt, questions, responses);
+    private AttemptResponseDto toAttemptResponse(AttemptAggregateLoader.AttemptAggregate aggregate) {
+        QuizAttempt attempt = aggregate.attempt();
+        return attemptMapper.toDtoWithContent(attempt,
+                quizContentCache.get(attempt.getQuiz().getQuizId(), aggregate.questions()),
+                aggregate.responses());
     }
 
     public List<AttemptResponseDto> getInProgressAttempts(Long userId) {
         List<QuizAttempt> inProgressAttempts = quizAttemptRepository.findByUserUserIdAndStatus(
                 userId, AttemptStatus.IN_PROGRESS);
-        List<AttemptResponseDto> result = new ArrayList<>();
+        List<QuizAttempt> activeAttempts = new ArrayList<>();
 
         for (QuizAttempt attempt : inProgressAttempts) {
             if (checkAndUpdateAttemptStatus(attempt)) {
-                result.add(buildAttemptResponse(attempt));
+                flushBufferedAnswers(attempt.getAttemptId());
+                activeAttempts.add(attempt);
             }
         }
 
-        return result;
-    }
-
-    public List<AttemptResultDto> getCompletedAttempts(Long userId) {
-        List<QuizAttempt> pastAttempts = quizAttemptRepository.findByUserUserIdAndStatus(
-                userId, AttemptStatus.GRADED);
-        List<AttemptResultDto> results = new ArrayList<>();
-
-        for (QuizAttempt attempt : pastAttempts) {
-            AttemptResultDto resultDto = getAttemptResults(attempt.getAttemptId());
-            results.add(resultDto);
+        List<AttemptResponseDto> result = new ArrayList<>();
+        for (AttemptAggregateLoader.AttemptAggregate aggregate : attemptAggregateLoader.loadAll(activeAttempts)) {
+            result.add(toAttemptResponse(aggregate));
         }
 
-        return results;
+        return result;
     }
 
     public void saveProgress(Long attemptId, Long userId) {
+        flushBufferedAnswers(attemptId);
+
         QuizAttempt attempt = quizAttemptRepository.findByAttemptIdAndUserUserId(attemptId, userId)
                 .orElseThrow(() -> new QuizAttemptException("Attempt not found or not accessible"));
 
@@ -348,7 +526,8 @@ public class QuizAttemptService {
             throw new QuizAttemptException("Attempt is no longer in progress");
         }
 
-        attempt.setLastAccessedAt(LocalDateTime.now());
-        quizAttemptRepository.save(attempt);
+        if (quizAttemptRepository.touchInProgress(attemptId, LocalDateTime.now()) != 1) {
+            throw new QuizAttemptException("Attempt is no longer in progress");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package ro.ase.acs.mind_path.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ro.ase.acs.mind_path.dto.mapper.QuestionSummaryMapper;
+import ro.ase.acs.mind_path.dto.response.QuestionSummaryDto;
+import ro.ase.acs.mind_path.dto.response.QuizSummaryDto;
+import ro.ase.acs.mind_path.entity.Question;
+import ro.ase.acs.mind_path.entity.Quiz;
+import ro.ase.acs.mind_path.entity.enums.QuizStatus;
+import ro.ase.acs.mind_path.exception.QuizNotFoundException;
+import ro.ase.acs.mind_path.repository.QuestionRepository;
+import ro.ase.acs.mind_path.repository.QuizRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class QuizCatalogCache {
+
+    private static final String ALL = "all";
+    private static final String ACTIVE = "active";
+
+    private final QuizRepository quizRepository;
+    private final QuestionRepository questionRepository;
+    private final QuestionSummaryMapper questionSummaryMapper;
+    private final QuizRevisions quizRevisions;
+
+    private final Map<Long, Revision> summaries = new ConcurrentHashMap<>();
+    private final Map<String, Versioned<List<QuizSummaryDto>>> catalogs = new ConcurrentHashMap<>();
+
+    public record Versioned<T>(T body, String etag) {}
+
+    private record Revision(long revision, QuizSummaryDto summary) {}
+
+    @Transactional(readOnly = true)
+    public Versioned<List<QuizSummaryDto>> all() {
+        return catalog(ALL);
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<List<QuizSummaryDto>> active() {
+        return catalog(ACTIVE);
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<QuizSummaryDto> quiz(Long quizId) {
+        long revision = quizRevisions.revision(quizId);
+        QuizSummaryDto summary = cached(quizId, revision);
+        if (summary == null) {
+            summary = load(List.of(quizId), Map.of(quizId, revision)).get(quizId);
+            if (summary == null) {
+                throw new QuizNotFoundException();
+            }
+        }
+        return new Versioned<>(summary, etag(quizId + "-" + revision));
+    }
+
+    private Versioned<List<QuizSummaryDto>> catalog(String key) {
+        String etag = etag(key + "-" + quizRevisions.catalogRevision());
+        Versioned<List<QuizSummaryDto>> cached = catalogs.get(key);
+        if (cached != null && cached.etag().equals(etag)) {
+            return cached;
+        }
+
+        List<QuizRepository.RevisionRow> rows = ACTIVE.equals(key)
+                ? quizRepository.findRevisionRowsByStatus(QuizStatus.ACTIVE)
+                : quizRepository.findRevisionRows();
+
+        Map<Long, Long> seenRevisions = new HashMap<>();
+        Map<Long, QuizSummaryDto> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (QuizRepository.RevisionRow row : rows) {
+            seenRevisions.put(row.getQuizId(), row.getRevision());
+            QuizSummaryDto summary = cached(row.getQuizId(), row.getRevision());
+            if (summary != null) {
+                found.put(row.getQuizId(), summary);
+            } else {
+                missing.add(row.getQuizId());
+            }
+        }
+        found.putAll(load(missing, seenRevisions));
+
+        List<QuizSummaryDto> quizzes = new ArrayList<>(rows.size());
+        for (QuizRepository.RevisionRow row : rows) {
+            QuizSummaryDto summary = found.get(row.getQuizId());
+            if (summary != null) {
+                quizzes.add(summary);
+            }
+        }
+
+        Versioned<List<QuizSummaryDto>> catalog = new Versioned<>(List.copyOf(quizzes), etag);
+        catalogs.put(key, catalog);
+        return catalog;
+    }
+
+    private Map<Long, QuizSummaryDto> load(Collection<Long> quizIds, Map<Long, Long> seenRevisions) {
+        if (quizIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, List<Question>> questionsByQuiz = questionRepository.findWithAnswersByQuizIdIn(quizIds)
+                .stream()
+                .collect(Collectors.groupingBy(q -> q.getQuiz().getQuizId()));
+
+        Map<Long, QuizSummaryDto> loaded = new HashMap<>();
+        for (Quiz quiz : quizRepository.findWithCreatorByIdIn(quizIds)) {
+            List<QuestionSummaryDto> questions = questionsByQuiz.getOrDefault(quiz.getQuizId(), List.of())
+                    .stream()
+                    .map(questionSummaryMapper::toQuestionSummaryDto)
+                    .toList();
+            QuizSummaryDto summary = new QuizSummaryDto(
+                    quiz.getQuizId(),
+                    quiz.getTitle(),
+                    quiz.getCreatedBy().getEmail(),
+                    quiz.getStatus(),
+                    quiz.getCreatedAt(),
+                    questions
+            );
+            loaded.put(quiz.getQuizId(), summary);
+            summaries.put(quiz.getQuizId(), new Revision(seenRevisions.get(quiz.getQuizId()), summary));
+        }
+        return loaded;
+    }
+
+    private QuizSummaryDto cached(Long quizId, long revision) {
+        Revision cached = summaries.get(quizId);
+        return cached != null && cached.revision() == revision ? cached.summary() : null;
+    }
+
+    private static String etag(String version) {
+        return "\"" + version + "\"";
+    }
+}
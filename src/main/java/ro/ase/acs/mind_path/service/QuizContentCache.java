@@ -0,0 +1,74 @@
+package ro.ase.acs.mind_path.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import ro.ase.acs.mind_path.dto.mapper.QuestionMapper;
+import ro.ase.acs.mind_path.dto.response.QuestionDto;
+import ro.ase.acs.mind_path.dto.response.QuizContent;
+import ro.ase.acs.mind_path.entity.Question;
+import ro.ase.acs.mind_path.repository.QuestionRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class QuizContentCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizContentCache.class);
+
+    private final QuestionRepository questionRepository;
+    private final QuestionMapper questionMapper;
+    private final QuizRevisions quizRevisions;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Rendered> contents = new ConcurrentHashMap<>();
+
+    private record Rendered(long revision, QuizContent content) {}
+
+    public List<QuestionDto> get(Long quizId) {
+        long revision = quizRevisions.revision(quizId);
+        Rendered rendered = contents.get(quizId);
+        if (rendered == null || rendered.revision() < revision) {
+            List<Question> questions = questionRepository.findWithAnswersByQuizIdIn(List.of(quizId));
+            Rendered loaded = render(quizId, revision, questions);
+            if (loaded == null) {
+                return toDtos(questions);
+            }
+            rendered = contents.merge(quizId, loaded, (existing, fresh) ->
+                    existing.revision() >= fresh.revision() ? existing : fresh);
+        }
+        return rendered.content();
+    }
+
+    public List<QuestionDto> get(Long quizId, List<Question> questions) {
+        Rendered rendered = contents.get(quizId);
+        if (rendered != null && rendered.revision() == quizRevisions.revision(quizId)) {
+            return rendered.content();
+        }
+        return toDtos(questions);
+    }
+
+    private Rendered render(Long quizId, long revision, List<Question> questions) {
+        List<QuestionDto> dtos = toDtos(questions);
+        try {
+            QuizContent content = new QuizContent(dtos, objectMapper.writeValueAsString(dtos));
+            logger.debug("Rendered {} questions of quiz {} into {} bytes", dtos.size(), quizId, content.byteSize());
+            return new Rendered(revision, content);
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to pre-render the content of quiz {}", quizId, e);
+            return null;
+        }
+    }
+
+    private List<QuestionDto> toDtos(List<Question> questions) {
+        return questions.stream()
+                .map(questionMapper::toDto)
+                .toList();
+    }
+}
@@ -0,0 +1,62 @@
+package ro.ase.acs.mind_path.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ro.ase.acs.mind_path.repository.QuizRepository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class QuizRevisions {
+
+    private final QuizRepository quizRepository;
+
+    @Value("${quiz.revisions.check-interval-ms:2000}")
+    private long checkIntervalMs;
+
+    private final Map<Long, Checked<Long>> revisions = new ConcurrentHashMap<>();
+    private volatile Checked<String> catalogRevision;
+
+    private record Checked<T>(T value, long checkedAt) {}
+
+    public long revision(Long quizId) {
+        Checked<Long> checked = revisions.get(quizId);
+        if (checked == null || isExpired(checked)) {
+            Checked<Long> fresh = check(quizId);
+            checked = revisions.merge(quizId, fresh, (existing, loaded) ->
+                    existing.value() > loaded.value() ? existing : loaded);
+        }
+        return checked.value();
+    }
+
+    public String catalogRevision() {
+        Checked<String> checked = catalogRevision;
+        if (checked == null || isExpired(checked)) {
+            QuizRepository.CatalogRevision revision = quizRepository.findCatalogRevision();
+            // Quiz ids only grow, so a catalog that lost and gained quizzes since the last check
+            // changes the highest id even when the count and the revision sum happen to match.
+            checked = new Checked<>(revision.getQuizzes() + "-" + revision.getRevisions() + "-"
+                    + revision.getMaxQuizId() + "-" + revision.getMaxRevision(), System.currentTimeMillis());
+            catalogRevision = checked;
+        }
+        return checked.value();
+    }
+
+    public void bump(Long quizId) {
+        quizRepository.incrementRevision(quizId);
+        revisions.remove(quizId);
+        catalogRevision = null;
+    }
+
+    private Checked<Long> check(Long quizId) {
+        Long revision = quizRepository.findRevisionById(quizId);
+        return new Checked<>(revision == null ? 0L : revision, System.currentTimeMillis());
+    }
+
+    private boolean isExpired(Checked<?> checked) {
+        return System.currentTimeMillis() - checked.checkedAt() >= checkIntervalMs;
+    }
+}
@@ -2,18 +2,17 @@ package ro.ase.acs.mind_path.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import ro.ase.acs.mind_path.dto.mapper.QuestionSummaryMapper;
 import ro.ase.acs.mind_path.dto.request.QuizCreationDto;
 import ro.ase.acs.mind_path.dto.request.QuizUpdateDto;
-import ro.ase.acs.mind_path.dto.response.QuestionSummaryDto;
 import ro.ase.acs.mind_path.dto.response.QuizSummaryDto;
 import ro.ase.acs.mind_path.entity.Quiz;
-import ro.ase.acs.mind_path.entity.User;
 import ro.ase.acs.mind_path.entity.enums.QuizStatus;
 import ro.ase.acs.mind_path.exception.BadRequestException;
 import ro.ase.acs.mind_path.exception.ForbiddenException;
 import ro.ase.acs.mind_path.exception.QuizNotFoundException;
 import ro.ase.acs.mind_path.repository.QuizRepository;
+import ro.ase.acs.mind_path.repository.UserRepository;
+import ro.ase.acs.mind_path.service.QuizCatalogCache.Versioned;
 
 import java.util.List;
 
@@ -21,10 +20,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class QuizService {
 
-    private final QuestionSummaryMapper questionSummaryMapper;
     private final QuizRepository quizRepository;
+    private final UserRepository userRepository;
+    private final QuizCatalogCache quizCatalogCache;
+    private final QuizRevisions quizRevisions;
 
-    public Long createQuiz(QuizCreationDto dto, User user) {
+    public Long createQuiz(QuizCreationDto dto, Long userId) {
         if (quizRepository.existsByTitleIgnoreCase(dto.getTitle())) {
             throw new BadRequestException("A quiz with this title already exists");
         }
@@ -38,56 +39,32 @@ public class QuizService {
         Quiz quiz = Quiz.builder()
                 .title(dto.getTitle())
                 .status(quizStatus)
-                .createdBy(user)
+                .createdBy(userRepository.getReferenceById(userId))
                 .build();
 
         quizRepository.save(quiz);
+        quizRevisions.bump(quiz.getQuizId());
 
         return quiz.getQuizId();
     }
 
-    public List<QuizSummaryDto> getAllQuizzes() {
-        return quizRepository.findAll()
-                .stream()
-                .map(this::mapToQuizSummaryDto)
-                .toList();
+    public Versioned<List<QuizSummaryDto>> getAllQuizzes() {
+        return quizCatalogCache.all();
     }
 
-    public List<QuizSummaryDto> getActiveQuizzes() {
-        return quizRepository.findAllByStatus(QuizStatus.ACTIVE)
-                .stream()
-                .map(this::mapToQuizSummaryDto)
-                .toList();
+    public Versioned<List<QuizSummaryDto>> getActiveQuizzes() {
+        return quizCatalogCache.active();
     }
 
-    private QuizSummaryDto mapToQuizSummaryDto(Quiz quiz) {
-        List<QuestionSummaryDto> questions = quiz.getQuestions()
-                .stream()
-                .map(questionSummaryMapper::toQuestionSummaryDto)
-                .toList();
-
-        return new QuizSummaryDto(
-                quiz.getQuizId(),
-                quiz.getTitle(),
-                quiz.getCreatedBy().getEmail(),
-                quiz.getStatus(),
-                quiz.getCreatedAt(),
-                questions
-        );
+    public Versioned<QuizSummaryDto> getQuizById(Long id) {
+        return quizCatalogCache.quiz(id);
     }
 
-    public QuizSummaryDto getQuizById(Long id) {
+    public void updateQuiz(Long id, QuizUpdateDto dto, Long userId) {
         Quiz quiz = quizRepository.findById(id)
                 .orElseThrow(QuizNotFoundException::new);
 
-        return mapToQuizSummaryDto(quiz);
-    }
-
-    public void updateQuiz(Long id, QuizUpdateDto dto, User user) {
-        Quiz quiz = quizRepository.findById(id)
-                .orElseThrow(QuizNotFoundException::new);
-
-        if (!quiz.getCreatedBy().getUserId().equals(user.getUserId())) {
+        if (!quiz.getCreatedBy().getUserId().equals(userId)) {
             throw new ForbiddenException("Only the teacher that created the quiz can update it");
         }
 
@@ -108,18 +85,20 @@ public class QuizService {
         }
 
         quizRepository.save(quiz);
+        quizRevisions.bump(id);
     }
 
-    public void deleteQuiz(Long id, User user) {
+    public void deleteQuiz(Long id, Long userId) {
         Quiz quiz = quizRepository.findById(id)
                 .orElseThrow(QuizNotFoundException::new);
 
-        if (!quiz.getCreatedBy().getUserId().equals(user.getUserId())) {
+        if (!quiz.getCreatedBy().getUserId().equals(userId)) {
             throw new ForbiddenException("Only the teacher that created the quiz can delete it");
         }
 
 //        quizRepository.delete(quiz);
         quiz.setStatus(QuizStatus.ARCHIVED);
         quizRepository.save(quiz);
+        quizRevisions.bump(id);
     }
 }
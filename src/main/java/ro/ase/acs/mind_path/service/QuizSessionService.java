@@ -5,12 +5,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ro.ase.acs.mind_path.dto.request.CreateSessionRequest;
+import ro.ase.acs.mind_path.dto.response.SessionEventDto;
 import ro.ase.acs.mind_path.entity.Quiz;
 import ro.ase.acs.mind_path.entity.QuizSession;
 import ro.ase.acs.mind_path.entity.User;
 import ro.ase.acs.mind_path.entity.enums.QuizStatus;
 import ro.ase.acs.mind_path.entity.enums.SessionStatus;
+import ro.ase.acs.mind_path.exception.ForbiddenException;
 import ro.ase.acs.mind_path.exception.QuizAttemptException;
 import ro.ase.acs.mind_path.repository.QuizRepository;
 import ro.ase.acs.mind_path.repository.QuizSessionRepository;
@@ -27,6 +30,8 @@ public class QuizSessionService {
     private final QuizRepository quizRepository;
     private final UserRepository userRepository;
     private final QuizSessionRepository quizSessionRepository;
+    private final AdvisoryLock advisoryLock;
+    private final SessionEventBus sessionEventBus;
 
     public QuizSession createSession(Long teacherId, CreateSessionRequest request) {
         User teacher = userRepository.findById(teacherId)
@@ -50,6 +55,7 @@ public class QuizSessionService {
                     } else {
                         session.setStatus(SessionStatus.EXPIRED);
                         quizSessionRepository.save(session);
+                        publishExpired(session.getSessionId());
                     }
                 });
 
@@ -67,12 +73,24 @@ public class QuizSessionService {
         return quizSessionRepository.save(session);
     }
 
+    public QuizSession getTeacherSession(Long sessionId, Long teacherId) {
+        QuizSession session = quizSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new QuizAttemptException("Session not found"));
+
+        if (!session.getCreatedBy().getUserId().equals(teacherId)) {
+            throw new ForbiddenException("You can only monitor your own sessions");
+        }
+
+        return session;
+    }
+
     public QuizSession validateAccessCode(String accessCode) {
         QuizSession session = quizSessionRepository.findByAccessCode(accessCode);
 
         if (session != null && session.getStatus() == SessionStatus.ACTIVE &&
                 session.getEndTime().isBefore(LocalDateTime.now())) {
             session.setStatus(SessionStatus.EXPIRED);
+            publishExpired(session.getSessionId());
             return quizSessionRepository.save(session);
         }
 
@@ -80,22 +98,27 @@ public class QuizSessionService {
     }
 
     @Scheduled(fixedRate = 60000)
+    @Transactional
     public void updateExpiredSessions() {
-        LocalDateTime now = LocalDateTime.now();
-        List<QuizSession> activeSessions = quizSessionRepository.findByStatus(SessionStatus.ACTIVE);
-
-        int updatedCount = 0;
+        if (!advisoryLock.tryLockForTransaction(AdvisoryLock.SESSION_EXPIRY_SWEEP)) {
+            return;
+        }
 
-        for (QuizSession session : activeSessions) {
-            if (session.getEndTime().isBefore(now)) {
-                session.setStatus(SessionStatus.EXPIRED);
-                quizSessionRepository.save(session);
-                updatedCount++;
-            }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> expiring = quizSessionRepository.findIdsToExpire(SessionStatus.ACTIVE, now);
+        if (expiring.isEmpty()) {
+            return;
         }
 
+        int updatedCount = quizSessionRepository.expireSessions(SessionStatus.ACTIVE, SessionStatus.EXPIRED, now);
+        expiring.forEach(this::publishExpired);
+
         if (updatedCount > 0) {
             logger.info("Updated {} expired quiz sessions", updatedCount);
         }
     }
-}
\ No newline at end of file
+
+    private void publishExpired(Long sessionId) {
+        sessionEventBus.publish(SessionEventDto.of(SessionEventDto.Type.SESSION_EXPIRED, sessionId, null, null));
+    }
+}
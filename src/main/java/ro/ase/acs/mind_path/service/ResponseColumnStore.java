@@ -0,0 +1,308 @@
+package ro.ase.acs.mind_path.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ro.ase.acs.mind_path.entity.enums.QuestionDifficulty;
+import ro.ase.acs.mind_path.entity.enums.QuestionType;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+@Component
+@RequiredArgsConstructor
+public class ResponseColumnStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseColumnStore.class);
+
+    private static final String SELECT_ROWS = """
+            select r.attempt_id, a.user_id, a.quiz_id, r.question_id, q.type, q.difficulty,
+                   coalesce(r.is_correct, true), r.response_time, a.score, a.completed_at
+            from user_responses r
+            join quiz_attempts a on a.attempt_id = r.attempt_id
+            join questions q on q.question_id = r.question_id
+            where a.status in ('SUBMITTED', 'GRADED') and a.completed_at is not null
+            """;
+
+    private static final QuestionType[] TYPES = QuestionType.values();
+    private static final QuestionDifficulty[] DIFFICULTIES = QuestionDifficulty.values();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${analytics.column-store.enabled:false}")
+    private boolean enabled;
+
+    @Value("${analytics.column-store.initial-capacity:65536}")
+    private int initialCapacity;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Map<Long, int[]> rowsByAttempt = new HashMap<>();
+    private final Queue<Long> pendingRefreshes = new ConcurrentLinkedQueue<>();
+    private Columns columns;
+    private volatile boolean ready;
+
+    public static final class Columns {
+        private long[] attemptIds;
+        private long[] userIds;
+        private long[] quizIds;
+        private long[] questionIds;
+        private byte[] types;
+        private byte[] difficulties;
+        private int[] responseTimes;
+        private float[] scores;
+        private int[] completedDays;
+        private final BitSet correct = new BitSet();
+        private final BitSet deleted = new BitSet();
+        private int size;
+
+        private Columns(int capacity) {
+            attemptIds = new long[capacity];
+            userIds = new long[capacity];
+            quizIds = new long[capacity];
+            questionIds = new long[capacity];
+            types = new byte[capacity];
+            difficulties = new byte[capacity];
+            responseTimes = new int[capacity];
+            scores = new float[capacity];
+            completedDays = new int[capacity];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isLive(int row) {
+            return !deleted.get(row);
+        }
+
+        public long attemptId(int row) {
+            return attemptIds[row];
+        }
+
+        public long userId(int row) {
+            return userIds[row];
+        }
+
+        public long quizId(int row) {
+            return quizIds[row];
+        }
+
+        public long questionId(int row) {
+            return questionIds[row];
+        }
+
+        public QuestionType type(int row) {
+            return TYPES[types[row]];
+        }
+
+        public QuestionDifficulty difficulty(int row) {
+            return DIFFICULTIES[difficulties[row]];
+        }
+
+        public boolean isCorrect(int row) {
+            return correct.get(row);
+        }
+
+        public int responseTime(int row) {
+            return responseTimes[row];
+        }
+
+        public float score(int row) {
+            return scores[row];
+        }
+
+        public int completedDay(int row) {
+            return completedDays[row];
+        }
+
+        private int liveRows() {
+            return size - deleted.cardinality();
+        }
+
+        private void append(ResultSet rs) throws SQLException {
+            if (size == attemptIds.length) {
+                grow(size * 2);
+            }
+            int row = size++;
+            attemptIds[row] = rs.getLong(1);
+            userIds[row] = rs.getLong(2);
+            quizIds[row] = rs.getLong(3);
+            questionIds[row] = rs.getLong(4);
+            types[row] = (byte) QuestionType.valueOf(rs.getString(5)).ordinal();
+            difficulties[row] = (byte) QuestionDifficulty.valueOf(rs.getString(6)).ordinal();
+            correct.set(row, rs.getBoolean(7));
+            int time = rs.getInt(8);
+            responseTimes[row] = rs.wasNull() ? -1 : time;
+            scores[row] = rs.getFloat(9);
+            Timestamp completedAt = rs.getTimestamp(10);
+            completedDays[row] = (int) completedAt.toLocalDateTime().toLocalDate().toEpochDay();
+        }
+
+        private void grow(int capacity) {
+            attemptIds = Arrays.copyOf(attemptIds, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+            quizIds = Arrays.copyOf(quizIds, capacity);
+            questionIds = Arrays.copyOf(questionIds, capacity);
+            types = Arrays.copyOf(types, capacity);
+            difficulties = Arrays.copyOf(difficulties, capacity);
+            responseTimes = Arrays.copyOf(responseTimes, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+            completedDays = Arrays.copyOf(completedDays, capacity);
+        }
+
+        private void appendFrom(Columns source, int row) {
+            if (size == attemptIds.length) {
+                grow(size * 2);
+            }
+            int target = size++;
+            attemptIds[target] = source.attemptIds[row];
+            userIds[target] = source.userIds[row];
+            quizIds[target] = source.quizIds[row];
+            questionIds[target] = source.questionIds[row];
+            types[target] = source.types[row];
+            difficulties[target] = source.difficulties[row];
+            correct.set(target, source.correct.get(row));
+            responseTimes[target] = source.responseTimes[row];
+            scores[target] = source.scores[row];
+            completedDays[target] = source.completedDays[row];
+        }
+
+        private Columns compact(Map<Long, int[]> rowsByAttempt) {
+            Columns compacted = new Columns(Math.max(liveRows(), 1024));
+            rowsByAttempt.clear();
+            for (int row = 0; row < size; row++) {
+                if (deleted.get(row)) {
+                    continue;
+                }
+                compacted.appendFrom(this, row);
+                int target = compacted.size - 1;
+                rowsByAttempt.merge(attemptIds[row], new int[]{target, target + 1},
+                        (existing, added) -> new int[]{existing[0], added[1]});
+            }
+            return compacted;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public <T> T read(Function<Columns, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(columns);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        Columns loaded = new Columns(initialCapacity);
+        Map<Long, int[]> index = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_ROWS + " order by r.attempt_id");
+            statement.setFetchSize(5000);
+            return statement;
+        }, (ResultSet rs) -> {
+            loaded.append(rs);
+            int row = loaded.size - 1;
+            index.merge(loaded.attemptIds[row], new int[]{row, row + 1},
+                    (existing, added) -> new int[]{existing[0], added[1]});
+        });
+
+        lock.writeLock().lock();
+        try {
+            columns = loaded;
+            rowsByAttempt.clear();
+            rowsByAttempt.putAll(index);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Loaded {} responses into the column store in {} ms",
+                loaded.size, (System.nanoTime() - startedAt) / 1_000_000);
+
+        drainPendingRefreshes();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttemptGraded(AttemptGradedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!ready) {
+            pendingRefreshes.add(event.attemptId());
+            // load() may have drained the queue between the check and the add, so look again.
+            if (ready) {
+                drainPendingRefreshes();
+            }
+            return;
+        }
+        refresh(event.attemptId());
+    }
+
+    private void drainPendingRefreshes() {
+        Long attemptId;
+        while ((attemptId = pendingRefreshes.poll()) != null) {
+            refresh(attemptId);
+        }
+    }
+
+    private void refresh(Long attemptId) {
+        refreshLock.lock();
+        try {
+            Columns fresh = new Columns(64);
+            jdbcTemplate.query(SELECT_ROWS + " and a.attempt_id = ?", (ResultSet rs) -> {
+                fresh.append(rs);
+            }, attemptId);
+
+            lock.writeLock().lock();
+            try {
+                int[] range = rowsByAttempt.remove(attemptId);
+                if (range != null) {
+                    columns.deleted.set(range[0], range[1]);
+                }
+
+                int start = columns.size;
+                for (int row = 0; row < fresh.size; row++) {
+                    columns.appendFrom(fresh, row);
+                }
+                if (columns.size > start) {
+                    rowsByAttempt.put(attemptId, new int[]{start, columns.size});
+                }
+
+                int deletedRows = columns.deleted.cardinality();
+                if (deletedRows > 10_000 && deletedRows > columns.size / 4) {
+                    columns = columns.compact(rowsByAttempt);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
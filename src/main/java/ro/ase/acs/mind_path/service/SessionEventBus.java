@@ -0,0 +1,160 @@
+package ro.ase.acs.mind_path.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ro.ase.acs.mind_path.dto.response.SessionEventDto;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class SessionEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionEventBus.class);
+
+    private static final SessionEventDto HEARTBEAT = SessionEventDto.of(null, null, null, null);
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Value("${sessions.events.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${sessions.events.timeout-ms:3600000}")
+    private long timeoutMs;
+
+    private record Pending(long id, SessionEventDto event) {}
+
+    private final class Subscriber {
+        private final Long sessionId;
+        private final SseEmitter emitter;
+        private final Queue<Pending> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(Long sessionId, SseEmitter emitter) {
+            this.sessionId = sessionId;
+            this.emitter = emitter;
+        }
+
+        private void offer(long id, SessionEventDto event) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(new Pending(id, event))) {
+                logger.info("Dropping slow subscriber of session {} after {} buffered events", sessionId, bufferSize);
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Pending next;
+                while (!closed && (next = buffer.poll()) != null) {
+                    send(next.id(), next.event());
+                }
+                draining.set(false);
+            } while (!closed && !buffer.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void send(long id, SessionEventDto event) {
+            try {
+                if (event == HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    return;
+                }
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(id))
+                        .name(event.type().name())
+                        .data(event));
+                if (event.type() == SessionEventDto.Type.SESSION_EXPIRED) {
+                    close();
+                }
+            } catch (IOException | IllegalStateException e) {
+                remove();
+                closed = true;
+            }
+        }
+
+        private void close() {
+            remove();
+            if (!closed) {
+                closed = true;
+                emitter.complete();
+            }
+        }
+
+        private void remove() {
+            subscribers.computeIfPresent(sessionId, (id, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    public SseEmitter subscribe(Long sessionId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(sessionId, emitter);
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.remove());
+        subscribers.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        return emitter;
+    }
+
+    public void publish(SessionEventDto event) {
+        if (event.sessionId() == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${sessions.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.offer(0, HEARTBEAT)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(Subscriber::close));
+        senders.shutdown();
+    }
+
+    private void dispatch(SessionEventDto event) {
+        Set<Subscriber> set = subscribers.get(event.sessionId());
+        if (set == null) {
+            return;
+        }
+        long id = sequence.incrementAndGet();
+        set.forEach(subscriber -> subscriber.offer(id, event));
+    }
+}
@@ -0,0 +1,79 @@
+package ro.ase.acs.mind_path.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "grading.llm.client", havingValue = "stub")
+public class StubLlmClient implements LlmClient {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Override
+    public String complete(String systemPrompt, String userPrompt) {
+        requests.incrementAndGet();
+        String rubric = section(userPrompt, "RUBRIC:");
+
+        try {
+            if (userPrompt.contains("ANSWERS:")) {
+                ObjectNode response = objectMapper.createObjectNode();
+                ArrayNode results = response.putArray("results");
+                for (JsonNode item : objectMapper.readTree(section(userPrompt, "ANSWERS:"))) {
+                    results.addObject()
+                            .put("id", item.get("id").asInt())
+                            .put("score", score(rubric, item.get("answer").asText()))
+                            .put("feedback", "Graded offline");
+                }
+                return objectMapper.writeValueAsString(response);
+            }
+
+            return objectMapper.writeValueAsString(objectMapper.createObjectNode()
+                    .put("score", score(rubric, section(userPrompt, "STUDENT:")))
+                    .put("feedback", "Graded offline"));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stub could not read the grading prompt", e);
+        }
+    }
+
+    public int getRequestCount() {
+        return requests.get();
+    }
+
+    private static String section(String prompt, String header) {
+        int start = prompt.indexOf(header);
+        if (start < 0) {
+            return "";
+        }
+        start += header.length();
+        int end = prompt.indexOf("\n\n", start + 1);
+        return (end < 0 ? prompt.substring(start) : prompt.substring(start, end)).trim();
+    }
+
+    private static float score(String rubric, String answer) {
+        Set<String> expected = tokens(rubric);
+        if (expected.isEmpty()) {
+            return 0f;
+        }
+        Set<String> given = tokens(answer);
+        long matched = expected.stream().filter(given::contains).count();
+        return (float) matched / expected.size();
+    }
+
+    private static Set<String> tokens(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(t -> !t.isEmpty())
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,285 @@
+package ro.ase.acs.mind_path.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import ro.ase.acs.mind_path.dto.request.StudentCreationDto;
+import ro.ase.acs.mind_path.dto.response.StudentImportResultDto;
+import ro.ase.acs.mind_path.entity.enums.UserRole;
+import ro.ase.acs.mind_path.exception.BadRequestException;
+import ro.ase.acs.mind_path.repository.UserRepository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class StudentImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentImportService.class);
+
+    private static final String INSERT_USER = """
+            insert into users (email, password, first_name, last_name, role, created_at)
+            values (?, ?, ?, ?, ?, ?)
+            on conflict (email) do nothing
+            """;
+
+    private static final List<String> CSV_COLUMNS = List.of("email", "password", "firstname", "lastname");
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+
+    @Value("${students.import.max-rows:10000}")
+    private int maxRows;
+
+    @Value("${students.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${students.import.hashing-parallelism:0}")
+    private int hashingParallelism;
+
+    private ForkJoinPool hashingPool;
+
+    private record Candidate(int row, StudentCreationDto student, StudentImportResultDto rejection) {}
+
+    public static final class ImportPlan {
+        private final List<Candidate> candidates;
+
+        private ImportPlan(List<Candidate> candidates) {
+            this.candidates = candidates;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        hashingPool = new ForkJoinPool(hashingParallelism > 0
+                ? hashingParallelism
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    public ImportPlan plan(List<StudentCreationDto> students) {
+        if (students == null || students.isEmpty()) {
+            throw new BadRequestException("No students to import");
+        }
+        if (students.size() > maxRows) {
+            throw new BadRequestException("At most " + maxRows + " students can be imported at once");
+        }
+
+        Set<String> emails = students.stream()
+                .map(s -> normalize(s.getEmail()))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toSet());
+        Set<String> existing = emails.isEmpty()
+                ? Set.of()
+                : new HashSet<>(userRepository.findExistingEmails(emails));
+
+        Set<String> seen = new HashSet<>();
+        List<Candidate> candidates = new ArrayList<>(students.size());
+        for (int i = 0; i < students.size(); i++) {
+            StudentCreationDto student = students.get(i);
+            student.setUserType(UserRole.STUDENT.name());
+            int row = i + 1;
+            String email = normalize(student.getEmail());
+
+            Set<ConstraintViolation<StudentCreationDto>> violations = validator.validate(student);
+            StudentImportResultDto rejection = null;
+            if (!violations.isEmpty()) {
+                rejection = result(row, student, StudentImportResultDto.Status.INVALID, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            } else if (existing.contains(email)) {
+                rejection = result(row, student, StudentImportResultDto.Status.DUPLICATE,
+                        "A user with this email already exists");
+            } else if (!seen.add(email)) {
+                rejection = result(row, student, StudentImportResultDto.Status.DUPLICATE,
+                        "Email appears more than once in the import");
+            }
+            candidates.add(new Candidate(row, student, rejection));
+        }
+        return new ImportPlan(candidates);
+    }
+
+    public void execute(ImportPlan plan, Consumer<StudentImportResultDto> sink) {
+        long startedAt = System.nanoTime();
+        int created = 0;
+
+        for (int start = 0; start < plan.candidates.size(); start += batchSize) {
+            List<Candidate> chunk = plan.candidates.subList(start, Math.min(start + batchSize, plan.candidates.size()));
+            List<Candidate> accepted = chunk.stream().filter(c -> c.rejection() == null).toList();
+
+            List<String> hashes = hashingPool.submit(() -> accepted.parallelStream()
+                    .map(this::hash)
+                    .toList()).join();
+
+            List<Candidate> hashed = new ArrayList<>(accepted.size());
+            List<Object[]> rows = new ArrayList<>(accepted.size());
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 0; i < accepted.size(); i++) {
+                if (hashes.get(i) == null) {
+                    continue;
+                }
+                StudentCreationDto student = accepted.get(i).student();
+                hashed.add(accepted.get(i));
+                rows.add(new Object[]{student.getEmail().trim(), hashes.get(i), student.getFirstName().trim(),
+                        student.getLastName().trim(), UserRole.STUDENT.name(), now});
+            }
+
+            Map<Integer, StudentImportResultDto> outcomes = new HashMap<>();
+            try {
+                int[] counts = rows.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(INSERT_USER, rows);
+                for (int i = 0; i < hashed.size(); i++) {
+                    Candidate candidate = hashed.get(i);
+                    boolean inserted = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+                    outcomes.put(candidate.row(), inserted
+                            ? result(candidate.row(), candidate.student(), StudentImportResultDto.Status.CREATED, null)
+                            : result(candidate.row(), candidate.student(), StudentImportResultDto.Status.DUPLICATE,
+                                    "A user with this email already exists"));
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to insert a batch of {} imported students", rows.size(), e);
+                hashed.forEach(candidate -> outcomes.put(candidate.row(), result(candidate.row(),
+                        candidate.student(), StudentImportResultDto.Status.FAILED, "Could not save this student")));
+            }
+
+            for (Candidate candidate : chunk) {
+                StudentImportResultDto outcome = candidate.rejection() != null
+                        ? candidate.rejection()
+                        : outcomes.getOrDefault(candidate.row(), result(candidate.row(), candidate.student(),
+                                StudentImportResultDto.Status.FAILED, "Password hashing is overloaded, retry this row"));
+                if (outcome.status() == StudentImportResultDto.Status.CREATED) {
+                    created++;
+                }
+                sink.accept(outcome);
+            }
+        }
+
+        logger.info("Imported {} of {} students in {} ms", created, plan.candidates.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    public List<StudentCreationDto> parseCsv(String csv) {
+        List<List<String>> records = CsvReader.read(csv == null ? "" : csv);
+        if (records.isEmpty()) {
+            throw new BadRequestException("The CSV file is empty");
+        }
+
+        List<String> header = records.getFirst().stream()
+                .map(column -> column.trim().replace("_", "").toLowerCase(Locale.ROOT))
+                .toList();
+        int[] positions = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+            positions[i] = header.indexOf(CSV_COLUMNS.get(i));
+            if (positions[i] < 0) {
+                throw new BadRequestException("The CSV header must contain email, password, firstName and lastName");
+            }
+        }
+
+        List<StudentCreationDto> students = new ArrayList<>(records.size() - 1);
+        for (List<String> record : records.subList(1, records.size())) {
+            if (record.size() == 1 && record.getFirst().isBlank()) {
+                continue;
+            }
+            students.add(StudentCreationDto.builder()
+                    .email(column(record, positions[0]))
+                    .password(column(record, positions[1]))
+                    .firstName(column(record, positions[2]))
+                    .lastName(column(record, positions[3]))
+                    .build());
+        }
+        return students;
+    }
+
+    private String hash(Candidate candidate) {
+        try {
+            return passwordEncoder.encode(candidate.student().getPassword());
+        } catch (RuntimeException e) {
+            logger.warn("Could not hash the password of import row {}", candidate.row(), e);
+            return null;
+        }
+    }
+
+    private static StudentImportResultDto result(int row, StudentCreationDto student,
+                                                 StudentImportResultDto.Status status, String message) {
+        return new StudentImportResultDto(row, student.getEmail(), status, message);
+    }
+
+    private static String column(List<String> record, int position) {
+        return position < record.size() ? record.get(position).trim() : null;
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static final class CsvReader {
+
+        private CsvReader() {
+        }
+
+        static List<List<String>> read(String text) {
+            List<List<String>> records = new ArrayList<>();
+            List<String> record = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                        i++;
+                    }
+                    record.add(field.toString());
+                    field.setLength(0);
+                    records.add(record);
+                    record = new ArrayList<>();
+                } else {
+                    field.append(c);
+                }
+            }
+
+            if (quoted) {
+                throw new BadRequestException("The CSV file has an unterminated quoted field");
+            }
+            if (field.length() > 0 || !record.isEmpty()) {
+                record.add(field.toString());
+                records.add(record);
+            }
+            return records;
+        }
+    }
+}
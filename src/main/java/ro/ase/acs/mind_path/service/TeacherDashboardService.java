@@ -1,116 +1,116 @@
 package ro.ase.acs.mind_path.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import ro.ase.acs.mind_path.dto.mapper.AttemptMapper;
-import ro.ase.acs.mind_path.dto.response.AttemptResultDto;
+import ro.ase.acs.mind_path.dto.response.CursorPageDto;
 import ro.ase.acs.mind_path.dto.response.StudentProgressDto;
 import ro.ase.acs.mind_path.dto.response.TeacherDashboardStatsDto;
-import ro.ase.acs.mind_path.entity.Question;
-import ro.ase.acs.mind_path.entity.Quiz;
-import ro.ase.acs.mind_path.entity.QuizAttempt;
-import ro.ase.acs.mind_path.entity.User;
+import ro.ase.acs.mind_path.entity.TeacherStudentStats;
 import ro.ase.acs.mind_path.entity.enums.AttemptStatus;
 import ro.ase.acs.mind_path.repository.QuizAttemptRepository;
-import ro.ase.acs.mind_path.repository.QuizRepository;
+import ro.ase.acs.mind_path.repository.TeacherStudentStatsRepository;
 
-import java.time.LocalDateTime;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Comparator;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class TeacherDashboardService {
-    private final QuizRepository quizRepository;
+    private static final String LIVE = "live";
+    private static final Comparator<StudentProgressDto> PROGRESS_ORDER = Comparator
+            .comparing(StudentProgressDto::getLastName)
+            .thenComparing(StudentProgressDto::getStudentId);
+    private static final List<AttemptStatus> COMPLETED_STATUSES =
+            List.of(AttemptStatus.SUBMITTED, AttemptStatus.GRADED);
+    private static final List<AttemptStatus> FINISHED_STATUSES =
+            List.of(AttemptStatus.SUBMITTED, AttemptStatus.GRADED, AttemptStatus.ABANDONED);
+
     private final QuizAttemptRepository quizAttemptRepository;
-    private final AttemptMapper attemptMapper;
+    private final TeacherStudentStatsRepository teacherStudentStatsRepository;
+    private final AttemptHistoryService attemptHistoryService;
 
-    public List<AttemptResultDto> getStudentAttempts(Long teacherId, Long studentId) {
-        List<Long> teacherQuizIds = quizRepository.findByCreatedByUserId(teacherId)
-                .stream().map(Quiz::getQuizId).toList();
+    @Value("${dashboard.aggregates.source:precomputed}")
+    private String aggregateSource;
 
-        return quizAttemptRepository
-                .findByUserUserIdAndQuizQuizIdInAndStatusIn(
-                        studentId, teacherQuizIds,
-                        List.of(AttemptStatus.SUBMITTED, AttemptStatus.GRADED))
-                .stream()
-                .map(attemptMapper::toResultDto)
-                .toList();
-    }
+    public CursorPageDto<StudentProgressDto> getStudentProgress(Long teacherId, String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = attemptHistoryService.pageSize(size);
 
-    public List<StudentProgressDto> getStudentProgress(Long teacherId) {
-        List<Quiz> teacherQuizzes = quizRepository.findByCreatedByUserId(teacherId);
-        if (teacherQuizzes.isEmpty()) {
-            return new ArrayList<>();
+        List<StudentProgressDto> rows = LIVE.equalsIgnoreCase(aggregateSource)
+                ? liveStudentProgress(teacherId, after, pageSize + 1)
+                : precomputedStudentProgress(teacherId, after, pageSize + 1);
+
+        List<StudentProgressDto> items = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            StudentProgressDto last = items.getLast();
+            nextCursor = new KeysetCursor(last.getLastName(), last.getStudentId()).encode();
         }
-        List<Long> quizIds = teacherQuizzes.stream()
-                .map(Quiz::getQuizId)
-                .toList();
-        List<QuizAttempt> completedAttempts = quizAttemptRepository.findByQuizQuizIdIn(quizIds)
-                .stream()
-                .filter(attempt -> attempt.getStatus() == AttemptStatus.SUBMITTED ||
-                        attempt.getStatus() == AttemptStatus.GRADED ||
-                        attempt.getStatus() == AttemptStatus.ABANDONED)
+        return new CursorPageDto<>(items, nextCursor);
+    }
+
+    private List<StudentProgressDto> precomputedStudentProgress(Long teacherId, KeysetCursor after, int limit) {
+        List<TeacherStudentStats> stats = after == null
+                ? teacherStudentStatsRepository.findFinishedPage(teacherId, Limit.of(limit))
+                : teacherStudentStatsRepository.findFinishedPageAfter(teacherId, after.key(), after.id(), Limit.of(limit));
+
+        return stats.stream()
+                .map(row -> StudentProgressDto.builder()
+                        .studentId(row.getStudent().getUserId())
+                        .firstName(row.getStudent().getFirstName())
+                        .lastName(row.getStudent().getLastName())
+                        .quizzesTaken(row.getFinishedCount())
+                        .avgScore(row.getFinishedScoreSum() / row.getFinishedCount())
+                        .lastActive(row.getLastCompletedAt())
+                        .build())
                 .toList();
-        Map<Long, List<QuizAttempt>> attemptsByStudent = completedAttempts.stream()
-                .collect(Collectors.groupingBy(attempt -> attempt.getUser().getUserId()));
-        return attemptsByStudent.entrySet().stream()
-                .map(entry -> {
-                    Long studentId = entry.getKey();
-                    List<QuizAttempt> studentAttempts = entry.getValue();
-                    User student = studentAttempts.getFirst().getUser();
-                    double avgScore = studentAttempts.stream()
-                            .mapToDouble(QuizAttempt::getScore)
-                            .average()
-                            .orElse(0.0);
-                    LocalDateTime lastQuizDate = studentAttempts.stream()
-                            .map(QuizAttempt::getCompletedAt)
-                            .filter(Objects::nonNull)
-                            .max(LocalDateTime::compareTo)
-                            .orElse(null);
-                    return StudentProgressDto.builder()
-                            .studentId(studentId)
-                            .firstName(student.getFirstName())
-                            .lastName(student.getLastName())
-                            .quizzesTaken(studentAttempts.size())
-                            .avgScore(avgScore)
-                            .lastActive(lastQuizDate)
-                            .build();
-                })
-                .sorted(Comparator.comparing(StudentProgressDto::getLastName))
+    }
+
+    private List<StudentProgressDto> liveStudentProgress(Long teacherId, KeysetCursor after, int limit) {
+        return quizAttemptRepository.findStudentProgressByTeacherId(teacherId, FINISHED_STATUSES).stream()
+                .map(row -> StudentProgressDto.builder()
+                        .studentId(row.getStudentId())
+                        .firstName(row.getFirstName())
+                        .lastName(row.getLastName())
+                        .quizzesTaken(row.getQuizzesTaken().intValue())
+                        .avgScore(row.getAvgScore() != null ? row.getAvgScore() : 0.0)
+                        .lastActive(row.getLastActive())
+                        .build())
+                .sorted(PROGRESS_ORDER)
+                .filter(dto -> after == null || isAfter(dto, after))
+                .limit(limit)
                 .toList();
     }
 
+    private static boolean isAfter(StudentProgressDto dto, KeysetCursor cursor) {
+        int byName = dto.getLastName().compareTo(cursor.key());
+        return byName > 0 || (byName == 0 && dto.getStudentId() > cursor.id());
+    }
+
     public TeacherDashboardStatsDto getDashboardStats(Long teacherId) {
-        List<Quiz> teacherQuizzes = quizRepository.findByCreatedByUserId(teacherId);
-        if (teacherQuizzes.isEmpty()) {
-            return TeacherDashboardStatsDto.builder()
-                    .activeStudentsCount(0)
-                    .completionRate(0.0)
-                    .build();
+        if (LIVE.equalsIgnoreCase(aggregateSource)) {
+            QuizAttemptRepository.AttemptTotals totals =
+                    quizAttemptRepository.findTotalsByTeacherId(teacherId, COMPLETED_STATUSES);
+            return toStatsDto(totals.getActiveStudents(), totals.getCompletedAttempts(), totals.getTotalAttempts());
         }
-        List<Long> quizIds = teacherQuizzes.stream()
-                .map(Quiz::getQuizId)
-                .toList();
-        List<QuizAttempt> allAttempts = quizAttemptRepository.findByQuizQuizIdIn(quizIds);
-        if (allAttempts.isEmpty()) {
+
+        TeacherStudentStatsRepository.TeacherTotals totals =
+                teacherStudentStatsRepository.findTotalsByTeacherId(teacherId);
+        return toStatsDto(totals.getActiveStudents(), totals.getCompletedAttempts(), totals.getTotalAttempts());
+    }
+
+    private static TeacherDashboardStatsDto toStatsDto(Long activeStudents, Long completedAttempts, Long totalAttempts) {
+        if (totalAttempts == null || totalAttempts == 0) {
             return TeacherDashboardStatsDto.builder()
                     .activeStudentsCount(0)
                     .completionRate(0.0)
                     .build();
         }
-        int activeStudentsCount = (int) allAttempts.stream()
-                .map(attempt -> attempt.getUser().getUserId())
-                .distinct()
-                .count();
-        int totalAttempts = allAttempts.size();
-        int completedAttempts = (int) allAttempts.stream()
-                .filter(attempt -> attempt.getStatus() == AttemptStatus.SUBMITTED ||
-                        attempt.getStatus() == AttemptStatus.GRADED)
-                .count();
         double completionRate = completedAttempts * 100.0 / totalAttempts;
         return TeacherDashboardStatsDto.builder()
-                .activeStudentsCount(activeStudentsCount)
+                .activeStudentsCount(activeStudents.intValue())
                 .completionRate(completionRate)
                 .build();
     }
@@ -14,6 +14,7 @@ public class TeacherGradingService {
 
     private final UserResponseRepository userResponseRepository;
     private final GradingService gradingService;
+    private final AttemptResultSnapshotService attemptResultSnapshotService;
 
     @Transactional
     public void gradeOpenEnded(Long attemptId, Long questionId, float score) {
@@ -29,6 +30,7 @@ public class TeacherGradingService {
         userResponseRepository.save(resp);
 
         QuizAttempt attempt = resp.getQuizAttempt();
+        attemptResultSnapshotService.invalidate(attempt.getAttemptId());
         gradingService.regradeAttempt(attempt);
     }
 }
@@ -0,0 +1,50 @@
+package ro.ase.acs.mind_path.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ro.ase.acs.mind_path.entity.QuizAttempt;
+import ro.ase.acs.mind_path.entity.UserResponse;
+import ro.ase.acs.mind_path.repository.AnswerRepository;
+import ro.ase.acs.mind_path.repository.QuestionRepository;
+import ro.ase.acs.mind_path.repository.QuizAttemptRepository;
+import ro.ase.acs.mind_path.repository.UserResponseRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class UserResponseWriter {
+
+    public record ResponseRow(Long questionId, Long answerId, String openEndedAnswer,
+                              Integer responseTime, boolean isCorrect) {}
+
+    private final UserResponseRepository userResponseRepository;
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+
+    @Transactional
+    public void replaceResponses(Long attemptId, Collection<Long> questionIds, List<ResponseRow> rows) {
+        if (questionIds.isEmpty()) {
+            return;
+        }
+        userResponseRepository.deleteByAttemptIdAndQuestionIdIn(attemptId, questionIds);
+
+        QuizAttempt attempt = quizAttemptRepository.getReferenceById(attemptId);
+        List<UserResponse> responses = new ArrayList<>(rows.size());
+        for (ResponseRow row : rows) {
+            responses.add(UserResponse.builder()
+                    .quizAttempt(attempt)
+                    .question(questionRepository.getReferenceById(row.questionId()))
+                    .selectedAnswer(row.answerId() == null ? null : answerRepository.getReferenceById(row.answerId()))
+                    .openEndedAnswer(row.openEndedAnswer())
+                    .responseTime(row.responseTime())
+                    .isCorrect(row.isCorrect())
+                    .build());
+        }
+        userResponseRepository.saveAll(responses);
+    }
+}
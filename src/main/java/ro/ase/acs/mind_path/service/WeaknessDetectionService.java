@@ -2,53 +2,119 @@ package ro.ase.acs.mind_path.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ro.ase.acs.mind_path.dto.response.WeaknessReportDto;
-import ro.ase.acs.mind_path.entity.UserResponse;
-import ro.ase.acs.mind_path.entity.enums.QuestionType;
-import ro.ase.acs.mind_path.repository.UserResponseRepository;
+import ro.ase.acs.mind_path.entity.Quiz;
+import ro.ase.acs.mind_path.entity.WeaknessRollup;
+import ro.ase.acs.mind_path.repository.QuizRepository;
+import ro.ase.acs.mind_path.repository.WeaknessRollupRepository;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class WeaknessDetectionService {
 
-    private final UserResponseRepository userResponseRepository;
+    private final WeaknessRollupRepository weaknessRollupRepository;
+    private final QuizRepository quizRepository;
+    private final ResponseColumnStore responseColumnStore;
 
+    private static final class Totals {
+        private int attempted;
+        private int incorrect;
+        private int rushingErrors;
+        private long timeSum;
+
+        private void add(WeaknessRollup rollup) {
+            add(rollup.getResponseCount(), rollup.getIncorrectCount(), rollup.getRushingErrors(),
+                    rollup.getResponseTimeSum());
+        }
+
+        private void add(int responses, int incorrectResponses, int rushing, long responseTimeSum) {
+            attempted += responses;
+            incorrect += incorrectResponses;
+            rushingErrors += rushing;
+            timeSum += responseTimeSum;
+        }
+
+        private double averageTime() {
+            return attempted == 0 ? 0 : (double) timeSum / attempted;
+        }
+
+        private WeaknessReportDto.QuestionTypeStats toStats() {
+            return new WeaknessReportDto.QuestionTypeStats(attempted, incorrect, averageTime());
+        }
+    }
+
+    @Transactional(readOnly = true)
     public WeaknessReportDto generateWeaknessReport(Long studentId,
                                                     LocalDate from,
                                                     LocalDate to) {
-        LocalDateTime start = from.atStartOfDay();
-        LocalDateTime end   = to.plusDays(1).atStartOfDay();
-
-        List<UserResponse> responses = userResponseRepository
-                .findByQuizAttemptUserUserIdAndQuizAttemptCompletedAtBetween(studentId, start, end);
+        Totals total = new Totals();
+        Map<String, Totals> byType = new TreeMap<>();
+        Map<String, Totals> byDifficulty = new TreeMap<>();
+        Map<Long, Totals> byQuiz = new LinkedHashMap<>();
+        if (responseColumnStore.isReady()) {
+            scanColumnStore(studentId, from, to, total, byType, byDifficulty, byQuiz);
+        } else {
+            for (WeaknessRollup rollup : weaknessRollupRepository.findByStudentIdAndBucketDateBetween(studentId, from, to)) {
+                total.add(rollup);
+                byType.computeIfAbsent(rollup.getQuestionType().name(), k -> new Totals()).add(rollup);
+                byDifficulty.computeIfAbsent(rollup.getDifficulty().name(), k -> new Totals()).add(rollup);
+                byQuiz.computeIfAbsent(rollup.getQuizId(), k -> new Totals()).add(rollup);
+            }
+        }
 
-        int total = responses.size();
+        Map<Long, String> quizTitles = quizRepository.findAllById(byQuiz.keySet()).stream()
+                .collect(Collectors.toMap(Quiz::getQuizId, Quiz::getTitle));
 
-        Map<QuestionType, List<UserResponse>> byType =
-                responses.stream().collect(Collectors.groupingBy(r -> r.getQuestion().getType()));
+        List<WeaknessReportDto.QuizWeaknessStats> quizStats = byQuiz.entrySet().stream()
+                .map(e -> new WeaknessReportDto.QuizWeaknessStats(
+                        e.getKey(),
+                        quizTitles.get(e.getKey()),
+                        e.getValue().attempted,
+                        e.getValue().incorrect,
+                        e.getValue().rushingErrors,
+                        e.getValue().averageTime()))
+                .sorted(Comparator.comparingInt(WeaknessReportDto.QuizWeaknessStats::incorrect).reversed())
+                .toList();
 
-        Map<String, WeaknessReportDto.QuestionTypeStats> stats =
-                byType.entrySet().stream().collect(Collectors.toMap(
-                        e -> e.getKey().name(),
-                        e -> {
-                            List<UserResponse> list = e.getValue();
-                            int incorrect = (int) list.stream().filter(r -> !r.getIsCorrect()).count();
-                            double avg = list.stream().mapToInt(UserResponse::getResponseTime).average().orElse(0);
-                            return new WeaknessReportDto.QuestionTypeStats(list.size(), incorrect, avg);
-                        }
-                ));
+        return new WeaknessReportDto(total.attempted, total.rushingErrors,
+                toStats(byType), toStats(byDifficulty), quizStats);
+    }
 
-        int rushingErrors = (int) responses.stream()
-                .filter(r -> !r.getIsCorrect() && r.getResponseTime() < WeaknessReportDto.FAST_SEC)
-                .count();
+    private void scanColumnStore(Long studentId, LocalDate from, LocalDate to, Totals total,
+                                 Map<String, Totals> byType, Map<String, Totals> byDifficulty,
+                                 Map<Long, Totals> byQuiz) {
+        long student = studentId;
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        responseColumnStore.read(columns -> {
+            for (int row = 0; row < columns.size(); row++) {
+                if (columns.userId(row) != student || !columns.isLive(row)
+                        || columns.completedDay(row) < fromDay || columns.completedDay(row) > toDay) {
+                    continue;
+                }
+                int incorrect = columns.isCorrect(row) ? 0 : 1;
+                int time = Math.max(columns.responseTime(row), 0);
+                int rushing = incorrect == 1 && columns.responseTime(row) >= 0
+                        && columns.responseTime(row) < WeaknessReportDto.FAST_SEC ? 1 : 0;
 
-        return new WeaknessReportDto(total, rushingErrors, stats);
+                total.add(1, incorrect, rushing, time);
+                byType.computeIfAbsent(columns.type(row).name(), k -> new Totals()).add(1, incorrect, rushing, time);
+                byDifficulty.computeIfAbsent(columns.difficulty(row).name(), k -> new Totals())
+                        .add(1, incorrect, rushing, time);
+                byQuiz.computeIfAbsent(columns.quizId(row), k -> new Totals()).add(1, incorrect, rushing, time);
+            }
+            return null;
+        });
     }
 
+    private static Map<String, WeaknessReportDto.QuestionTypeStats> toStats(Map<String, Totals> totals) {
+        return totals.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().toStats(),
+                        (a, b) -> a, LinkedHashMap::new));
+    }
 }
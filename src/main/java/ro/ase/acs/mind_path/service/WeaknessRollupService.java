@@ -0,0 +1,64 @@
+package ro.ase.acs.mind_path.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ro.ase.acs.mind_path.dto.response.WeaknessReportDto;
+import ro.ase.acs.mind_path.entity.QuizAttempt;
+import ro.ase.acs.mind_path.entity.enums.AttemptStatus;
+import ro.ase.acs.mind_path.repository.QuizAttemptRepository;
+import ro.ase.acs.mind_path.repository.WeaknessRollupRepository;
+
+import java.time.LocalDate;
+
+@Service
+@RequiredArgsConstructor
+public class WeaknessRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeaknessRollupService.class);
+
+    private final WeaknessRollupRepository weaknessRollupRepository;
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final AdvisoryLock advisoryLock;
+
+    // Rollups only cover SUBMITTED and GRADED attempts. Abandoning only ever moves an attempt out of
+    // IN_PROGRESS, which was never rolled up, so neither abandon path has a bucket to refresh.
+    @Transactional
+    public void refresh(QuizAttempt attempt) {
+        if (attempt.getCompletedAt() == null
+                || (attempt.getStatus() != AttemptStatus.SUBMITTED && attempt.getStatus() != AttemptStatus.GRADED)) {
+            return;
+        }
+
+        Long studentId = attempt.getUser().getUserId();
+        Long quizId = attempt.getQuiz().getQuizId();
+        LocalDate day = attempt.getCompletedAt().toLocalDate();
+
+        weaknessRollupRepository.deleteBucket(studentId, quizId, day);
+        weaknessRollupRepository.insertBucket(studentId, quizId, day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                WeaknessReportDto.FAST_SEC);
+    }
+
+    @Transactional
+    public int rebuild() {
+        advisoryLock.lockForTransaction(AdvisoryLock.WEAKNESS_ROLLUPS);
+        weaknessRollupRepository.deleteAllRows();
+        return weaknessRollupRepository.rebuild(WeaknessReportDto.FAST_SEC);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (!advisoryLock.tryLockForTransaction(AdvisoryLock.WEAKNESS_ROLLUPS)) {
+            return;
+        }
+        if (weaknessRollupRepository.count() == 0 && quizAttemptRepository.count() > 0) {
+            int rows = rebuild();
+            logger.info("Backfilled {} weakness rollup rows", rows);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ro.ase.acs.mind_path.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AiGradingServiceTests {
+
+    private static final String QUESTION = "What is a primary key?";
+    private static final String RUBRIC = "A column that uniquely identifies each row";
+
+    private final StubLlmClient stub = new StubLlmClient();
+
+    private AiGradingService service(LlmClient client, int maxPromptTokens, int maxAnswers) {
+        AiGradingService service = new AiGradingService(client, new ObjectMapper());
+        ReflectionTestUtils.setField(service, "maxPromptTokens", maxPromptTokens);
+        ReflectionTestUtils.setField(service, "maxAnswersPerRequest", maxAnswers);
+        return service;
+    }
+
+    @Test
+    void AiGradingService_GradeBatch_GradesAllAnswersInOneRequest() {
+        AiGradingService service = service(stub, 6000, 20);
+
+        List<GradingProvider.GradeResult> results = service.gradeBatch(QUESTION, RUBRIC, List.of(
+                "A column that uniquely identifies each row",
+                "No idea",
+                "It identifies each row"));
+
+        assertEquals(1, stub.getRequestCount());
+        assertEquals(3, results.size());
+        assertEquals(1.0f, results.get(0).score(), 0.001f);
+        assertEquals(0.0f, results.get(1).score(), 0.001f);
+        assertTrue(results.get(2).score() > 0 && results.get(2).score() < 1);
+    }
+
+    @Test
+    void AiGradingService_GradeBatch_SplitsOnTokenBudget() {
+        String longAnswer = "row ".repeat(400);
+        AiGradingService service = service(stub, 300, 20);
+
+        List<GradingProvider.GradeResult> results = service.gradeBatch(QUESTION, RUBRIC,
+                List.of(longAnswer, longAnswer + "column", longAnswer + "key"));
+
+        assertEquals(3, stub.getRequestCount());
+        assertTrue(results.stream().allMatch(r -> r != null));
+    }
+
+    @Test
+    void AiGradingService_GradeBatch_FallsBackToSingleGradingWhenBatchResponseIsMalformed() {
+        AtomicInteger singleRequests = new AtomicInteger();
+        LlmClient client = (systemPrompt, userPrompt) -> {
+            if (userPrompt.contains("ANSWERS:")) {
+                return "{\"results\": [{\"id\": 0, \"score\": 1.0}]}";
+            }
+            singleRequests.incrementAndGet();
+            return stub.complete(systemPrompt, userPrompt);
+        };
+        AiGradingService service = service(client, 6000, 20);
+
+        List<GradingProvider.GradeResult> results = service.gradeBatch(QUESTION, RUBRIC,
+                List.of("uniquely identifies each row", "a column"));
+
+        assertEquals(2, singleRequests.get());
+        assertNotNull(results.get(0));
+        assertNotNull(results.get(1));
+    }
+}
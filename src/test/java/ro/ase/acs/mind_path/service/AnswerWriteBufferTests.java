@@ -0,0 +1,173 @@
+package ro.ase.acs.mind_path.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ro.ase.acs.mind_path.dto.request.SubmitAnswerRequest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnswerWriteBufferTests {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void AnswerWriteBuffer_Flush_WritesLatestAnswerPerQuestionOnce() throws IOException {
+        AnswerWriteBuffer buffer = buffer();
+        buffer.register(attempt(1L));
+
+        assertEquals(AnswerWriteBuffer.OfferResult.ACCEPTED, buffer.offer(1L, answer(10L, 100L)));
+        assertEquals(AnswerWriteBuffer.OfferResult.ACCEPTED, buffer.offer(1L, answer(10L, 101L)));
+        assertEquals(AnswerWriteBuffer.OfferResult.ACCEPTED, buffer.offer(1L, answer(11L, 110L)));
+
+        List<SubmitAnswerRequest> written = flush(buffer, 1L);
+        assertEquals(2, written.size());
+        assertEquals(List.of(101L), written.get(0).getSelectedAnswerIds());
+        assertEquals(11L, written.get(1).getQuestionId());
+
+        assertTrue(flush(buffer, 1L).isEmpty());
+    }
+
+    @Test
+    void AnswerWriteBuffer_Flush_KeepsAnswersPendingWhenTransactionRollsBack() throws IOException {
+        AnswerWriteBuffer buffer = buffer();
+        buffer.register(attempt(1L));
+        buffer.offer(1L, answer(10L, 100L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertEquals(1, flush(buffer, 1L).size());
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        TransactionSynchronizationManager.initSynchronization();
+        buffer.offer(1L, answer(11L, 110L));
+        assertEquals(2, flush(buffer, 1L).size());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertTrue(flush(buffer, 1L).isEmpty());
+    }
+
+    @Test
+    void AnswerWriteBuffer_CloseAndFlush_RejectsLaterAnswersAndDropsBufferOnCommit() throws IOException {
+        AnswerWriteBuffer buffer = buffer();
+        buffer.register(attempt(1L));
+        buffer.offer(1L, answer(10L, 100L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        List<SubmitAnswerRequest> written = new ArrayList<>();
+        buffer.closeAndFlush(1L, (attempt, pending) -> pending.forEach(p -> written.add(p.request())));
+        assertEquals(1, written.size());
+
+        assertEquals(AnswerWriteBuffer.OfferResult.CLOSED, buffer.offer(1L, answer(11L, 110L)));
+        assertTrue(flush(buffer, 1L).isEmpty());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertNull(buffer.openAttempt(1L));
+        assertEquals(AnswerWriteBuffer.OfferResult.REJECTED, buffer.offer(1L, answer(11L, 110L)));
+    }
+
+    @Test
+    void AnswerWriteBuffer_CloseAndFlush_ReopensBufferWhenTransactionRollsBack() throws IOException {
+        AnswerWriteBuffer buffer = buffer();
+        buffer.register(attempt(1L));
+        buffer.offer(1L, answer(10L, 100L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        buffer.closeAndFlush(1L, (attempt, pending) -> { });
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertNotNull(buffer.openAttempt(1L));
+        assertEquals(AnswerWriteBuffer.OfferResult.ACCEPTED, buffer.offer(1L, answer(11L, 110L)));
+        assertEquals(2, flush(buffer, 1L).size());
+    }
+
+    @Test
+    void AnswerWriteBuffer_Forget_KeepsBufferUntilPendingAnswersAreFlushed() throws IOException {
+        AnswerWriteBuffer buffer = buffer();
+        buffer.register(attempt(1L));
+        buffer.offer(1L, answer(10L, 100L));
+
+        buffer.forget(1L);
+        assertNotNull(buffer.openAttempt(1L));
+
+        flush(buffer, 1L);
+        buffer.forget(1L);
+        assertNull(buffer.openAttempt(1L));
+    }
+
+    @Test
+    void AnswerWriteBuffer_Replay_RecoversOnlyUnflushedAnswersOfOpenAttempts() throws IOException {
+        AnswerWriteBuffer first = buffer();
+        first.register(attempt(1L));
+        first.register(attempt(2L));
+        first.offer(1L, answer(10L, 100L));
+        first.offer(1L, answer(11L, 110L));
+        first.offer(2L, answer(20L, 200L));
+        flush(first, 1L);
+        first.offer(1L, answer(12L, 120L));
+        first.closeAndFlush(2L, (attempt, pending) -> { });
+        first.close();
+
+        AnswerWriteBuffer replayed = buffer();
+        assertEquals(List.of(1L), replayed.bufferedAttemptIds());
+        assertEquals(7L, replayed.openAttempt(1L).userId());
+
+        List<SubmitAnswerRequest> written = flush(replayed, 1L);
+        assertEquals(1, written.size());
+        assertEquals(12L, written.getFirst().getQuestionId());
+        replayed.close();
+    }
+
+    private AnswerWriteBuffer buffer() throws IOException {
+        AnswerWriteBuffer buffer = new AnswerWriteBuffer(objectMapper);
+        ReflectionTestUtils.setField(buffer, "enabled", true);
+        ReflectionTestUtils.setField(buffer, "maxAttempts", 10);
+        ReflectionTestUtils.setField(buffer, "maxPendingPerAttempt", 10);
+        ReflectionTestUtils.setField(buffer, "idleTimeoutMinutes", 30L);
+        ReflectionTestUtils.setField(buffer, "journalPath", tempDir.resolve("answer-journal.log").toString());
+        buffer.open();
+        return buffer;
+    }
+
+    private static AnswerWriteBuffer.OpenAttempt attempt(Long attemptId) {
+        return new AnswerWriteBuffer.OpenAttempt(attemptId, 7L, 3L, LocalDateTime.now().plusHours(1), null);
+    }
+
+    private static SubmitAnswerRequest answer(Long questionId, Long answerId) {
+        return SubmitAnswerRequest.builder()
+                .questionId(questionId)
+                .selectedAnswerIds(List.of(answerId))
+                .responseTime(5)
+                .build();
+    }
+
+    private static List<SubmitAnswerRequest> flush(AnswerWriteBuffer buffer, Long attemptId) {
+        List<SubmitAnswerRequest> written = new ArrayList<>();
+        buffer.flush(attemptId, (attempt, pending) -> pending.forEach(p -> written.add(p.request())));
+        return written;
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
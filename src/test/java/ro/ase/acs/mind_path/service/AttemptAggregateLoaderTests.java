@@ -0,0 +1,152 @@
+package ro.ase.acs.mind_path.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ro.ase.acs.mind_path.dto.mapper.AnswerMapper;
+import ro.ase.acs.mind_path.dto.mapper.AttemptMapper;
+import ro.ase.acs.mind_path.dto.mapper.QuestionMapper;
+import ro.ase.acs.mind_path.dto.mapper.ResponseMapper;
+import ro.ase.acs.mind_path.dto.response.AttemptResponseDto;
+import ro.ase.acs.mind_path.entity.*;
+import ro.ase.acs.mind_path.entity.enums.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({AttemptAggregateLoader.class, AttemptMapper.class, QuestionMapper.class, AnswerMapper.class, ResponseMapper.class})
+public class AttemptAggregateLoaderTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private AttemptAggregateLoader attemptAggregateLoader;
+    @Autowired
+    private AttemptMapper attemptMapper;
+
+    private int seeded = 0;
+
+    @Test
+    void AttemptAggregateLoader_Load_QueryCountDoesNotGrowWithQuestionCount() {
+        Long smallAttemptId = seedAttempt(2);
+        Long largeAttemptId = seedAttempt(25);
+
+        long smallQueries = countQueriesToRender(List.of(smallAttemptId));
+        long largeQueries = countQueriesToRender(List.of(largeAttemptId));
+
+        assertEquals(smallQueries, largeQueries);
+        assertTrue(largeQueries <= 3, "Expected at most 3 queries but got " + largeQueries);
+    }
+
+    @Test
+    void AttemptAggregateLoader_LoadAll_QueryCountDoesNotGrowWithAttemptCount() {
+        List<Long> oneAttempt = List.of(seedAttempt(3));
+        List<Long> manyAttempts = List.of(seedAttempt(3), seedAttempt(5), seedAttempt(8), seedAttempt(13));
+
+        long oneQueries = countQueriesToRender(oneAttempt);
+        long manyQueries = countQueriesToRender(manyAttempts);
+
+        assertEquals(oneQueries, manyQueries);
+        assertTrue(manyQueries <= 3, "Expected at most 3 queries but got " + manyQueries);
+    }
+
+    @Test
+    void AttemptAggregateLoader_Load_ReturnsEveryQuestionAnswerAndResponse() {
+        Long attemptId = seedAttempt(4);
+        entityManager.clear();
+
+        QuizAttempt attempt = entityManager.find(QuizAttempt.class, attemptId);
+        AttemptResponseDto dto = toDto(attemptAggregateLoader.load(attempt));
+
+        assertEquals(4, dto.getQuestions().size());
+        assertEquals(4, dto.getResponses().size());
+        dto.getQuestions().forEach(q -> assertEquals(2, q.getAnswers().size()));
+    }
+
+    private long countQueriesToRender(List<Long> attemptIds) {
+        entityManager.clear();
+        List<QuizAttempt> attempts = attemptIds.stream()
+                .map(id -> entityManager.find(QuizAttempt.class, id))
+                .toList();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        attemptAggregateLoader.loadAll(attempts).forEach(this::toDto);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private AttemptResponseDto toDto(AttemptAggregateLoader.AttemptAggregate aggregate) {
+        return attemptMapper.toDto(aggregate.attempt(), aggregate.questions(), aggregate.responses());
+    }
+
+    private Long seedAttempt(int questionCount) {
+        seeded++;
+        User teacher = entityManager.persist(User.builder()
+                .email("teacher" + seeded + "@example.com")
+                .password("secret")
+                .firstName("Ada")
+                .lastName("Teacher")
+                .role(UserRole.TEACHER)
+                .build());
+        User student = entityManager.persist(User.builder()
+                .email("student" + seeded + "@example.com")
+                .password("secret")
+                .firstName("Alan")
+                .lastName("Student")
+                .role(UserRole.STUDENT)
+                .build());
+        Quiz quiz = entityManager.persist(Quiz.builder()
+                .title("Quiz " + seeded)
+                .createdBy(teacher)
+                .status(QuizStatus.ACTIVE)
+                .build());
+        QuizAttempt attempt = entityManager.persist(QuizAttempt.builder()
+                .user(student)
+                .quiz(quiz)
+                .score(0.0f)
+                .status(AttemptStatus.IN_PROGRESS)
+                .startedAt(LocalDateTime.now())
+                .build());
+
+        for (int i = 0; i < questionCount; i++) {
+            Question question = entityManager.persist(Question.builder()
+                    .quiz(quiz)
+                    .questionText("Question " + i)
+                    .type(QuestionType.SINGLE_CHOICE)
+                    .difficulty(QuestionDifficulty.EASY)
+                    .build());
+            Answer correct = entityManager.persist(Answer.builder()
+                    .question(question)
+                    .answerText("Right " + i)
+                    .isCorrect(true)
+                    .build());
+            entityManager.persist(Answer.builder()
+                    .question(question)
+                    .answerText("Wrong " + i)
+                    .isCorrect(false)
+                    .build());
+            entityManager.persist(UserResponse.builder()
+                    .quizAttempt(attempt)
+                    .question(question)
+                    .selectedAnswer(correct)
+                    .responseTime(3)
+                    .isCorrect(true)
+                    .build());
+        }
+
+        entityManager.flush();
+        return attempt.getAttemptId();
+    }
+}
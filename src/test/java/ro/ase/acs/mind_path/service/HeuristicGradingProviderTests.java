@@ -0,0 +1,94 @@
+package ro.ase.acs.mind_path.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HeuristicGradingProviderTests {
+
+    private static final String QUESTION = "What is a primary key?";
+    private static final String RUBRIC = "A primary key uniquely identifies each row of a table";
+
+    private HeuristicGradingProvider provider(String mode) {
+        HeuristicGradingProvider provider = new HeuristicGradingProvider();
+        ReflectionTestUtils.setField(provider, "mode", mode);
+        ReflectionTestUtils.setField(provider, "verbatimThreshold", 0.9);
+        ReflectionTestUtils.setField(provider, "llmClient", "openai");
+        return provider;
+    }
+
+    @Test
+    void HeuristicGradingProvider_GradeBatch_AcceptsVerbatimAnswer() {
+        List<GradingProvider.GradeResult> results = provider("prefilter").gradeBatch(QUESTION, RUBRIC,
+                List.of("The PRIMARY key uniquely identifies each row in the table."));
+
+        assertEquals(1.0f, results.get(0).score(), 0.001f);
+    }
+
+    @Test
+    void HeuristicGradingProvider_GradeBatch_DeclinesReorderedAnswer() {
+        List<GradingProvider.GradeResult> results = provider("prefilter").gradeBatch(QUESTION, RUBRIC,
+                List.of("Each table row uniquely identifies a primary key"));
+
+        assertNull(results.get(0));
+    }
+
+    @Test
+    void HeuristicGradingProvider_GradeBatch_DeclinesContradictingAnswer() {
+        List<GradingProvider.GradeResult> results = provider("prefilter").gradeBatch(QUESTION, RUBRIC,
+                List.of("A primary key never uniquely identifies each row of a table"));
+
+        assertNull(results.get(0));
+    }
+
+    @Test
+    void HeuristicGradingProvider_GradeBatch_DeclinesNegatedAnswerToLongRubric() {
+        String rubric = "A primary key is a column or a set of columns whose values uniquely identify "
+                + "each row of a table and which must be unique and present for every stored row";
+
+        List<GradingProvider.GradeResult> results = provider("prefilter").gradeBatch(QUESTION, rubric, List.of(
+                rubric.replace("whose values uniquely", "whose values never uniquely"),
+                rubric.replace("must be", "must not be"),
+                rubric));
+
+        assertNull(results.get(0));
+        assertNull(results.get(1));
+        assertEquals(1.0f, results.get(2).score(), 0.001f);
+    }
+
+    @Test
+    void HeuristicGradingProvider_GradeBatch_DeclinesStopWordOnlyAnswerAndScoresBlankAnswer() {
+        List<GradingProvider.GradeResult> results = provider("prefilter").gradeBatch(QUESTION, RUBRIC,
+                List.of("It is.", "  "));
+
+        assertNull(results.get(0));
+        assertEquals(0.0f, results.get(1).score(), 0.001f);
+    }
+
+    @Test
+    void HeuristicGradingProvider_GradeBatch_ScoresStopWordOnlyAnswerWhenNoLlmRunsAfterIt() {
+        HeuristicGradingProvider provider = provider("prefilter");
+        ReflectionTestUtils.setField(provider, "llmClient", "none");
+
+        List<GradingProvider.GradeResult> results = provider.gradeBatch(QUESTION, RUBRIC, List.of("It is."));
+
+        assertNotNull(results.get(0));
+        assertEquals(0.0f, results.get(0).score(), 0.001f);
+    }
+
+    @Test
+    void HeuristicGradingProvider_GradeBatch_ScoreDoesNotDependOnBatch() {
+        HeuristicGradingProvider provider = provider("full");
+        String answer = "It identifies each row";
+
+        GradingProvider.GradeResult alone = provider.gradeBatch(QUESTION, RUBRIC, List.of(answer)).get(0);
+        GradingProvider.GradeResult batched = provider.gradeBatch(QUESTION, RUBRIC, List.of(
+                "row row row", answer, "A table has columns and each row has values")).get(1);
+
+        assertEquals(alone.score(), batched.score(), 0.0001f);
+        assertTrue(alone.score() > 0 && alone.score() < 1);
+    }
+}
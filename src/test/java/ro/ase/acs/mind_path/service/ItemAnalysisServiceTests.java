@@ -0,0 +1,110 @@
+package ro.ase.acs.mind_path.service;
+
+import org.junit.jupiter.api.Test;
+import ro.ase.acs.mind_path.dto.response.ItemAnalysisDto;
+import ro.ase.acs.mind_path.entity.Answer;
+import ro.ase.acs.mind_path.entity.Question;
+import ro.ase.acs.mind_path.entity.enums.QuestionDifficulty;
+import ro.ase.acs.mind_path.entity.enums.QuestionType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemAnalysisServiceTests {
+
+    private static Question question(long questionId, QuestionType type, long... correctAnswerIds) {
+        List<Answer> answers = new ArrayList<>();
+        for (long answerId = questionId * 10 + 1; answerId <= questionId * 10 + 4; answerId++) {
+            boolean correct = false;
+            for (long id : correctAnswerIds) {
+                correct |= id == answerId;
+            }
+            answers.add(Answer.builder().answerId(answerId).answerText("Answer " + answerId).isCorrect(correct).build());
+        }
+        return Question.builder()
+                .questionId(questionId)
+                .questionText("Question " + questionId)
+                .type(type)
+                .difficulty(QuestionDifficulty.MEDIUM)
+                .answers(answers)
+                .build();
+    }
+
+    private static ItemAnalysisDto.ItemStats stats(ItemAnalysisService.Accumulator accumulator, Question question) {
+        return accumulator.toItemStats(0, question);
+    }
+
+    @Test
+    void ItemAnalysisService_Accumulator_ComputesPValueAndPointBiserial() {
+        Question question = question(1, QuestionType.SINGLE_CHOICE, 11);
+        ItemAnalysisService.Accumulator accumulator = new ItemAnalysisService.Accumulator(List.of(question));
+
+        accumulator.accept(1, 1, 11L, true, 10, 90);
+        accumulator.accept(2, 1, 11L, true, 20, 80);
+        accumulator.accept(3, 1, 12L, false, 30, 40);
+        accumulator.accept(4, 1, 13L, false, 40, 30);
+        accumulator.finish();
+
+        ItemAnalysisDto.ItemStats stats = stats(accumulator, question);
+        assertEquals(4, accumulator.attempts);
+        assertEquals(4, stats.responses());
+        assertEquals(0.5, stats.pValue(), 0.0001);
+        assertEquals(25.0, stats.meanResponseTimeSec(), 0.0001);
+
+        double variance = (90 * 90 + 80 * 80 + 40 * 40 + 30 * 30) / 4.0 - 60.0 * 60.0;
+        double expected = (85.0 - 35.0) / Math.sqrt(variance) * Math.sqrt(0.5 * 0.5);
+        assertEquals(expected, stats.pointBiserial(), 0.0001);
+    }
+
+    @Test
+    void ItemAnalysisService_Accumulator_PointBiserialIsNullWhenEveryoneIsCorrect() {
+        Question question = question(1, QuestionType.SINGLE_CHOICE, 11);
+        ItemAnalysisService.Accumulator accumulator = new ItemAnalysisService.Accumulator(List.of(question));
+
+        accumulator.accept(1, 1, 11L, true, null, 90);
+        accumulator.accept(2, 1, 11L, true, null, 50);
+        accumulator.finish();
+
+        ItemAnalysisDto.ItemStats stats = stats(accumulator, question);
+        assertEquals(1.0, stats.pValue(), 0.0001);
+        assertNull(stats.pointBiserial());
+        assertNull(stats.meanResponseTimeSec());
+    }
+
+    @Test
+    void ItemAnalysisService_Accumulator_MultipleChoiceNeedsEveryCorrectOption() {
+        Question question = question(1, QuestionType.MULTIPLE_CHOICE, 11, 12);
+        ItemAnalysisService.Accumulator accumulator = new ItemAnalysisService.Accumulator(List.of(question));
+
+        accumulator.accept(1, 1, 11L, true, null, 100);
+        accumulator.accept(1, 1, 12L, true, null, 100);
+        accumulator.accept(2, 1, 11L, true, null, 50);
+        accumulator.accept(3, 1, 11L, true, null, 20);
+        accumulator.accept(3, 1, 12L, true, null, 20);
+        accumulator.accept(3, 1, 13L, false, null, 20);
+        accumulator.finish();
+
+        ItemAnalysisDto.ItemStats stats = stats(accumulator, question);
+        assertEquals(3, stats.responses());
+        assertEquals(1.0 / 3, stats.pValue(), 0.0001);
+        assertEquals(3, stats.answers().get(0).selectedCount());
+    }
+
+    @Test
+    void ItemAnalysisService_Accumulator_SkipsUngradedOpenEndedResponses() {
+        Question question = question(1, QuestionType.OPEN_ENDED, 11);
+        ItemAnalysisService.Accumulator accumulator = new ItemAnalysisService.Accumulator(List.of(question));
+
+        accumulator.accept(1, 1, 11L, true, null, 90);
+        accumulator.accept(2, 1, 11L, null, null, 70);
+        accumulator.accept(3, 1, 11L, false, null, 40);
+        accumulator.finish();
+
+        ItemAnalysisDto.ItemStats stats = stats(accumulator, question);
+        assertEquals(3, accumulator.attempts);
+        assertEquals(2, stats.responses());
+        assertEquals(0.5, stats.pValue(), 0.0001);
+    }
+}
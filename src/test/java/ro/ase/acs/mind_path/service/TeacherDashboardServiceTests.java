@@ -0,0 +1,131 @@
+package ro.ase.acs.mind_path.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import ro.ase.acs.mind_path.dto.response.CursorPageDto;
+import ro.ase.acs.mind_path.dto.response.StudentProgressDto;
+import ro.ase.acs.mind_path.dto.response.TeacherDashboardStatsDto;
+import ro.ase.acs.mind_path.entity.TeacherStudentStats;
+import ro.ase.acs.mind_path.entity.User;
+import ro.ase.acs.mind_path.entity.enums.UserRole;
+import ro.ase.acs.mind_path.repository.QuizAttemptRepository;
+import ro.ase.acs.mind_path.repository.TeacherStudentStatsRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TeacherDashboardServiceTests {
+
+    private static final Long TEACHER_ID = 1L;
+
+    private final TeacherStudentStatsRepository teacherStudentStatsRepository = mock(TeacherStudentStatsRepository.class);
+    private final QuizAttemptRepository quizAttemptRepository = mock(QuizAttemptRepository.class);
+    private TeacherDashboardService teacherDashboardService;
+
+    @BeforeEach
+    void setUp() {
+        AttemptHistoryService attemptHistoryService = new AttemptHistoryService(null, null, null, null, null);
+        ReflectionTestUtils.setField(attemptHistoryService, "defaultPageSize", 50);
+        ReflectionTestUtils.setField(attemptHistoryService, "maxPageSize", 200);
+
+        teacherDashboardService = new TeacherDashboardService(
+                quizAttemptRepository, teacherStudentStatsRepository, attemptHistoryService);
+        ReflectionTestUtils.setField(teacherDashboardService, "aggregateSource", "precomputed");
+    }
+
+    @Test
+    void TeacherDashboardService_GetStudentProgress_MapsAggregatesAndReturnsNextCursor() {
+        LocalDateTime lastCompletedAt = LocalDateTime.of(2025, 3, 1, 10, 0);
+        when(teacherStudentStatsRepository.findFinishedPage(eq(TEACHER_ID), any())).thenReturn(List.of(
+                stats(10L, "Albu", 4, 300.0, lastCompletedAt),
+                stats(11L, "Barbu", 2, 90.0, lastCompletedAt),
+                stats(12L, "Costea", 1, 50.0, lastCompletedAt)));
+
+        CursorPageDto<StudentProgressDto> page = teacherDashboardService.getStudentProgress(TEACHER_ID, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        StudentProgressDto first = page.getItems().get(0);
+        assertEquals(10L, first.getStudentId());
+        assertEquals(4, first.getQuizzesTaken());
+        assertEquals(75.0, first.getAvgScore(), 0.0001);
+        assertEquals(lastCompletedAt, first.getLastActive());
+        assertEquals(45.0, page.getItems().get(1).getAvgScore(), 0.0001);
+
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertEquals("Barbu", next.key());
+        assertEquals(11L, next.id());
+    }
+
+    @Test
+    void TeacherDashboardService_GetStudentProgress_LastPageHasNoCursor() {
+        when(teacherStudentStatsRepository.findFinishedPage(eq(TEACHER_ID), any())).thenReturn(List.of(
+                stats(10L, "Albu", 1, 80.0, LocalDateTime.now())));
+
+        CursorPageDto<StudentProgressDto> page = teacherDashboardService.getStudentProgress(TEACHER_ID, null, 2);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void TeacherDashboardService_GetDashboardStats_ComputesCompletionRateFromAggregates() {
+        when(teacherStudentStatsRepository.findTotalsByTeacherId(TEACHER_ID)).thenReturn(totals(3L, 6L, 8L));
+
+        TeacherDashboardStatsDto stats = teacherDashboardService.getDashboardStats(TEACHER_ID);
+
+        assertEquals(3, stats.getActiveStudentsCount());
+        assertEquals(75.0, stats.getCompletionRate(), 0.0001);
+    }
+
+    @Test
+    void TeacherDashboardService_GetDashboardStats_ReturnsZeroWithoutAttempts() {
+        when(teacherStudentStatsRepository.findTotalsByTeacherId(TEACHER_ID)).thenReturn(totals(0L, 0L, 0L));
+
+        TeacherDashboardStatsDto stats = teacherDashboardService.getDashboardStats(TEACHER_ID);
+
+        assertEquals(0, stats.getActiveStudentsCount());
+        assertEquals(0.0, stats.getCompletionRate(), 0.0001);
+    }
+
+    private static TeacherStudentStats stats(Long studentId, String lastName, int finished, double scoreSum,
+                                             LocalDateTime lastCompletedAt) {
+        User student = User.builder()
+                .userId(studentId)
+                .firstName("Student")
+                .lastName(lastName)
+                .role(UserRole.STUDENT)
+                .build();
+        return TeacherStudentStats.builder()
+                .teacherId(TEACHER_ID)
+                .student(student)
+                .attemptCount(finished)
+                .finishedCount(finished)
+                .completedCount(finished)
+                .finishedScoreSum(scoreSum)
+                .lastCompletedAt(lastCompletedAt)
+                .build();
+    }
+
+    private static TeacherStudentStatsRepository.TeacherTotals totals(Long students, Long completed, Long total) {
+        return new TeacherStudentStatsRepository.TeacherTotals() {
+            @Override
+            public Long getActiveStudents() {
+                return students;
+            }
+
+            @Override
+            public Long getCompletedAttempts() {
+                return completed;
+            }
+
+            @Override
+            public Long getTotalAttempts() {
+                return total;
+            }
+        };
+    }
+}